@@ -0,0 +1,37 @@
+package com.trillion.server.auth.filter;
+
+import java.util.Collection;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.trillion.server.common.util.JwtUtil;
+
+/**
+ * 필터에서 검증한 액세스 토큰의 클레임을 요청이 끝날 때까지 SecurityContext에 들고 다닌다.
+ * principal은 기존과 같이 사용자 ID다.
+ */
+public class AccessTokenAuthentication extends AbstractAuthenticationToken {
+
+    private final JwtUtil.VerifiedToken token;
+
+    public AccessTokenAuthentication(JwtUtil.VerifiedToken token, Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.token = token;
+        setAuthenticated(true);
+    }
+
+    public JwtUtil.VerifiedToken getToken() {
+        return token;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return token.userId();
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+}
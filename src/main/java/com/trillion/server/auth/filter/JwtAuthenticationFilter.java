@@ -4,13 +4,13 @@ import java.io.IOException;
 import java.util.List;
 
 import jakarta.servlet.http.Cookie;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.trillion.server.auth.revocation.AccessTokenRevocationList;
 import com.trillion.server.common.util.JwtUtil;
 
 import jakarta.servlet.FilterChain;
@@ -23,25 +23,28 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
+    private final AccessTokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
         throws ServletException, IOException{
         String token = resolveToken(request);
-        Long userId = null;
+        JwtUtil.VerifiedToken verified = null;
 
         if(token != null){
             try{
-                userId = jwtUtil.extractUserId(token);
+                // 서명 검증은 여기서 한 번만 한다. 같은 토큰은 이후 캐시된 클레임을 쓴다.
+                verified = jwtUtil.verify(token);
             } catch (Exception e){
                 logger.warn("JWT Token error: " + e.getMessage());
             }
         }
 
-        if(userId != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            if(jwtUtil.validateToken(token, "ACCESS")){
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        if(verified != null && SecurityContextHolder.getContext().getAuthentication() == null){
+            if("ACCESS".equals(verified.type()) && !revocationList.isRevoked(verified)){
+                String role = verified.role() != null ? verified.role() : "USER";
+                AccessTokenAuthentication authentication = new AccessTokenAuthentication(
+                        verified, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
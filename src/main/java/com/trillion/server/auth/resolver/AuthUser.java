@@ -0,0 +1,56 @@
+package com.trillion.server.auth.resolver;
+
+import java.util.function.Function;
+
+import com.trillion.server.common.exception.ErrorMessages;
+import com.trillion.server.common.util.JwtUtil;
+import com.trillion.server.users.entity.Role;
+import com.trillion.server.users.entity.UserEntity;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * 요청의 인증 사용자. ID와 권한은 토큰 클레임에서 오고, UserEntity는 처음 필요할 때 한 번만 조회한다.
+ * 요청 하나에서 같은 인스턴스를 공유한다. (CurrentUserArgumentResolver)
+ */
+public class AuthUser {
+
+    private final JwtUtil.VerifiedToken accessToken;
+    private final Role role;
+    private final Function<Long, UserEntity> loader;
+    private UserEntity user;
+
+    AuthUser(JwtUtil.VerifiedToken accessToken, Role role, Function<Long, UserEntity> loader) {
+        this.accessToken = accessToken;
+        this.role = role;
+        this.loader = loader;
+    }
+
+    public Long getUserId() {
+        return accessToken.userId();
+    }
+
+    /**
+     * 이 요청을 인증한 액세스 토큰. (로그아웃 시 폐기)
+     */
+    public JwtUtil.VerifiedToken getAccessToken() {
+        return accessToken;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * @throws EntityNotFoundException 토큰은 유효하지만 사용자가 탈퇴한 경우
+     */
+    public UserEntity getUser() {
+        if (user == null) {
+            user = loader.apply(accessToken.userId());
+            if (user == null) {
+                throw new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND);
+            }
+        }
+        return user;
+    }
+}
@@ -0,0 +1,17 @@
+package com.trillion.server.auth.resolver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * JwtAuthenticationFilter가 인증한 사용자를 컨트롤러 파라미터(AuthUser)로 주입한다.
+ * required = false면 인증되지 않은 요청에 null을 넘긴다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+
+    boolean required() default true;
+}
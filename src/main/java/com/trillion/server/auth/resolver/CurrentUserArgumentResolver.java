@@ -0,0 +1,71 @@
+package com.trillion.server.auth.resolver;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.trillion.server.auth.filter.AccessTokenAuthentication;
+import com.trillion.server.common.exception.ErrorMessages;
+import com.trillion.server.common.util.JwtUtil;
+import com.trillion.server.users.entity.Role;
+import com.trillion.server.users.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * SecurityContext의 AccessTokenAuthentication에서 @CurrentUser AuthUser를 만든다.
+ * 토큰을 다시 읽지 않으므로 쿠키와 Authorization: Bearer 헤더 모두 필터와 같은 결과를 낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = AuthUser.class.getName();
+
+    private final UserRepository userRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && AuthUser.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        AuthUser cached = (AuthUser) webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof AccessTokenAuthentication accessToken)) {
+            if (parameter.getParameterAnnotation(CurrentUser.class).required()) {
+                throw new IllegalArgumentException(ErrorMessages.AUTH_TOKEN_REQUIRED);
+            }
+            return null;
+        }
+
+        JwtUtil.VerifiedToken token = accessToken.getToken();
+        AuthUser authUser = new AuthUser(token, roleOf(token),
+                userId -> userRepository.findById(userId).orElse(null));
+        webRequest.setAttribute(ATTRIBUTE, authUser, RequestAttributes.SCOPE_REQUEST);
+        return authUser;
+    }
+
+    // role 클레임이 없는 이전 토큰은 기존과 같이 USER로 본다.
+    static Role roleOf(JwtUtil.VerifiedToken token) {
+        if (token.role() == null) return Role.USER;
+        try {
+            return Role.valueOf(token.role());
+        } catch (IllegalArgumentException e) {
+            return Role.USER;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.trillion.server.auth.revocation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.trillion.server.common.util.JwtUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 만료 전에 폐기된 액세스 토큰 목록. 토큰 하나(jti)나 사용자 전체(epoch: 이 시각까지 발급된 토큰)를 폐기할 수 있다.
+ * 폐기되지 않은 토큰은 Bloom filter만 보고 통과시키고, filter가 있다고 답할 때만 정확한 집합을 확인한다.
+ * 항목은 토큰이 어차피 만료되는 시각이 지나면 purge에서 지운다. 목록은 메모리에만 있고, 다른 노드와는 RevocationChannel로 맞춘다.
+ */
+@Slf4j
+@Component
+public class AccessTokenRevocationList {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RevocationChannel channel;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+    private final Duration accessTokenLifetime;
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> userEpochs = new ConcurrentHashMap<>();
+    private final Object rebuildLock = new Object();
+    private volatile BloomFilter bloomFilter;
+
+    public AccessTokenRevocationList(
+            @Value("${auth.revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${auth.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${jwt.access-token-expiration:3600000}") long accessTokenExpiration,
+            RevocationChannel channel) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.accessTokenLifetime = Duration.ofMillis(accessTokenExpiration);
+        this.channel = channel;
+        this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+        channel.subscribe(this::apply);
+    }
+
+    public boolean isRevoked(JwtUtil.VerifiedToken token) {
+        if (!userEpochs.isEmpty()) {
+            Instant epoch = userEpochs.get(token.userId());
+            if (epoch != null && (token.issuedAt() == null || !token.issuedAt().isAfter(epoch))) {
+                return true;
+            }
+        }
+        String tokenId = token.tokenId();
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    public void revoke(JwtUtil.VerifiedToken token) {
+        if (token.tokenId() == null || token.expiresAt() == null) return;
+        revokeToken(token.tokenId(), token.expiresAt());
+        channel.publish(new RevocationChannel.RevocationEvent(nodeId, token.tokenId(), token.userId(), token.expiresAt()));
+    }
+
+    /**
+     * 지금까지 발급된 사용자의 액세스 토큰을 모두 폐기한다. (회원 탈퇴, 모든 기기에서 로그아웃)
+     * JWT의 iat는 초 단위라 같은 초에 새로 발급된 토큰도 함께 폐기된다.
+     */
+    public void revokeUser(Long userId) {
+        Instant epoch = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        revokeUserUntil(userId, epoch);
+        channel.publish(new RevocationChannel.RevocationEvent(nodeId, null, userId, epoch));
+    }
+
+    private void apply(RevocationChannel.RevocationEvent event) {
+        if (nodeId.equals(event.origin())) return;
+        if (event.tokenId() != null) {
+            revokeToken(event.tokenId(), event.until());
+        } else {
+            revokeUserUntil(event.userId(), event.until());
+        }
+    }
+
+    private void revokeToken(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) return;
+        synchronized (rebuildLock) {
+            revokedTokens.put(tokenId, expiresAt);
+            bloomFilter.add(tokenId);
+        }
+    }
+
+    private void revokeUserUntil(Long userId, Instant epoch) {
+        userEpochs.merge(userId, epoch, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * 만료된 항목을 지우고 Bloom filter를 남은 항목으로 다시 만든다.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:60000}")
+    public void purge() {
+        Instant now = Instant.now();
+        userEpochs.values().removeIf(epoch -> !epoch.plus(accessTokenLifetime).isAfter(now));
+
+        synchronized (rebuildLock) {
+            int before = revokedTokens.size();
+            revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            if (revokedTokens.size() == before) return;
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revokedTokens.size() * 2L), falsePositiveRate);
+            revokedTokens.keySet().forEach(rebuilt::add);
+            bloomFilter = rebuilt;
+            log.debug("액세스 토큰 폐기 목록 정리: {}건 -> {}건", before, revokedTokens.size());
+        }
+    }
+}
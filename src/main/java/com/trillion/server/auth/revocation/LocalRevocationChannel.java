@@ -0,0 +1,28 @@
+package com.trillion.server.auth.revocation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 같은 JVM 안의 구독자에게만 전달하는 채널. 노드가 하나일 때와 테스트에서 쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.revocation.channel", havingValue = "local", matchIfMissing = true)
+public class LocalRevocationChannel implements RevocationChannel {
+
+    private final List<Consumer<RevocationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(RevocationEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<RevocationEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,21 @@
+package com.trillion.server.auth.revocation;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * 노드 사이에 토큰 폐기를 전달한다. 받은 쪽은 자신의 AccessTokenRevocationList에 반영만 하고 다시 보내지 않는다.
+ * 구현은 auth.revocation.channel 로 고른다. (local: LocalRevocationChannel)
+ */
+public interface RevocationChannel {
+
+    /**
+     * @param tokenId 토큰 하나를 폐기할 때의 jti. 사용자 전체를 폐기하면 null
+     * @param until   tokenId면 토큰 만료 시각, 아니면 이 시각까지 발급된 사용자 토큰을 폐기한다. (epoch)
+     */
+    record RevocationEvent(String origin, String tokenId, Long userId, Instant until) {}
+
+    void publish(RevocationEvent event);
+
+    void subscribe(Consumer<RevocationEvent> listener);
+}
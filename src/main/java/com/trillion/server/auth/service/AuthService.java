@@ -1,8 +1,11 @@
 package com.trillion.server.auth.service;
 
 import java.util.Map;
+import java.util.UUID;
 
 import com.trillion.server.auth.dto.AuthDto;
+import com.trillion.server.auth.revocation.AccessTokenRevocationList;
+import com.trillion.server.auth.token.RefreshTokenStore;
 import com.trillion.server.common.exception.ErrorMessages;
 import com.trillion.server.users.entity.Role;
 import jakarta.persistence.EntityNotFoundException;
@@ -15,13 +18,17 @@ import com.trillion.server.users.entity.UserEntity;
 import com.trillion.server.users.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenRevocationList revocationList;
 
     @Transactional
     public AuthDto.LoginResponse processKakaoLogin(OAuth2User oAuth2User, String kakaoRefreshToken) {
@@ -63,49 +70,88 @@ public class AuthService {
             user.updateSocialRefreshToken(kakaoRefreshToken);
         }
 
-        String accessToken = jwtUtil.generateAccessToken(user.getId());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getId());
-        
-        user.updateRefreshToken(refreshToken);
-        
+        String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getRole().name());
+        RefreshTokenStore.Token refreshToken = issueRefreshToken(user.getId(), UUID.randomUUID().toString());
+        refreshTokenStore.startFamily(refreshToken);
+
         return AuthDto.LoginResponse.builder()
                 .userId(user.getId())
                 .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .refreshToken(refreshToken.value())
                 .nickname(user.getNickname())
                 .isNewUser(isNewUser)
                 .build();
     }
 
-    @Transactional
+    /**
+     * 리프레시 토큰을 회전한다. users 행은 권한(role)만 읽고 쓰지 않는다. (회전 상태는 RefreshTokenStore)
+     */
     public AuthDto.RefreshTokenResponse refreshTokens(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken, "REFRESH")) {
-            throw new IllegalArgumentException(ErrorMessages.INVALID_REFRESH_TOKEN);
-        }
-        
-        Long userId = jwtUtil.extractUserId(refreshToken);
-        UserEntity user = userRepository.findById(userId)
+        JwtUtil.VerifiedToken verified = verifyRefreshToken(refreshToken);
+        Long userId = verified.userId();
+
+        Role role = userRepository.findRoleById(userId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
-        
-        if(user.getRefreshToken() == null || !user.getRefreshToken().equals(refreshToken)){
+
+        RefreshTokenStore.Token presented = new RefreshTokenStore.Token(
+                userId, verified.familyId(), verified.tokenId(), refreshToken, verified.expiresAt());
+        RefreshTokenStore.Rotation rotation = refreshTokenStore.rotate(presented, issueRefreshToken(userId, verified.familyId()));
+
+        if (rotation.outcome() == RefreshTokenStore.Outcome.REUSED) {
+            log.warn("이미 사용된 리프레시 토큰으로 갱신 시도 (User ID: {})", userId);
+        }
+        if (rotation.token() == null) {
             throw new IllegalArgumentException(ErrorMessages.INVALID_REFRESH_TOKEN);
         }
 
-        String newAccessToken = jwtUtil.generateAccessToken(userId);
-        String newRefreshToken = jwtUtil.generateRefreshToken(userId);
-        user.updateRefreshToken(newRefreshToken);
-        
         return AuthDto.RefreshTokenResponse.builder()
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken)
+                .accessToken(jwtUtil.generateAccessToken(userId, role.name()))
+                .refreshToken(rotation.token().value())
                 .build();
     }
 
-    @Transactional
+    /**
+     * 사용자의 모든 기기에서 로그아웃한다. 이미 발급된 액세스 토큰도 즉시 쓸 수 없게 된다.
+     */
     public void logout(Long userId){
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND));
+        refreshTokenStore.revokeUser(userId);
+        revocationList.revokeUser(userId);
+    }
+
+    /**
+     * 이 요청의 액세스 토큰을 폐기하고, 리프레시 토큰이 속한 로그인(패밀리)을 끝낸다.
+     * 리프레시 토큰이 유효하지 않거나 다른 사용자의 토큰이면 무시한다.
+     */
+    public void logout(JwtUtil.VerifiedToken accessToken, String refreshToken){
+        revocationList.revoke(accessToken);
+
+        Long userId = accessToken.userId();
+        if (refreshToken == null || refreshToken.isEmpty()) return;
+        try {
+            JwtUtil.VerifiedToken verified = verifyRefreshToken(refreshToken);
+            if (userId.equals(verified.userId())) {
+                refreshTokenStore.revokeFamily(userId, verified.familyId());
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("로그아웃 요청의 리프레시 토큰이 유효하지 않음 (User ID: {})", userId);
+        }
+    }
+
+    private JwtUtil.VerifiedToken verifyRefreshToken(String refreshToken) {
+        JwtUtil.VerifiedToken verified;
+        try {
+            verified = jwtUtil.verify(refreshToken);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_REFRESH_TOKEN);
+        }
+        if (!"REFRESH".equals(verified.type())) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_REFRESH_TOKEN);
+        }
+        return verified;
+    }
 
-        user.updateRefreshToken(null);
+    private RefreshTokenStore.Token issueRefreshToken(Long userId, String familyId) {
+        JwtUtil.IssuedToken issued = jwtUtil.issueRefreshToken(userId, familyId);
+        return new RefreshTokenStore.Token(userId, familyId, issued.tokenId(), issued.value(), issued.expiresAt());
     }
 }
@@ -0,0 +1,123 @@
+package com.trillion.server.auth.token;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 패밀리를 애플리케이션 메모리에 두는 저장소. 갱신/로그인 때 users 테이블에 쓰지 않는다.
+ * 패밀리는 현재 토큰의 만료 시각에 사라지고, 개수는 max-families로 제한한다.
+ * 노드끼리 상태를 나누지 않으므로 재시작하면 모든 사용자가 다시 로그인해야 하고, 여러 노드에서는 고정 세션이 필요하다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Cache<String, Family> families;
+    private final Map<Long, Set<String>> familyIdsByUser = new ConcurrentHashMap<>();
+    private final Duration graceWindow;
+
+    private record Family(Long userId, Token current, String previousTokenId, Instant rotatedAt) {}
+
+    public InMemoryRefreshTokenStore(
+            @Value("${auth.refresh-token.max-families:100000}") long maxFamilies,
+            @Value("${auth.refresh-token.rotation-grace-seconds:10}") long graceSeconds) {
+        this.graceWindow = Duration.ofSeconds(graceSeconds);
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maxFamilies)
+                .expireAfter(new Expiry<String, Family>() {
+                    @Override
+                    public long expireAfterCreate(String familyId, Family family, long currentTime) {
+                        return untilExpiry(family);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String familyId, Family family, long currentTime, long currentDuration) {
+                        return untilExpiry(family);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String familyId, Family family, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String familyId, Family family, RemovalCause cause) -> {
+                    if (cause != RemovalCause.REPLACED && family != null) {
+                        forget(family.userId(), familyId);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void startFamily(Token token) {
+        familyIdsByUser.computeIfAbsent(token.userId(), id -> ConcurrentHashMap.newKeySet()).add(token.familyId());
+        families.put(token.familyId(), new Family(token.userId(), token, null, null));
+    }
+
+    @Override
+    public Rotation rotate(Token presented, Token next) {
+        if (presented.familyId() == null) return Rotation.of(Outcome.UNKNOWN);
+
+        Rotation[] result = new Rotation[1];
+        Instant now = Instant.now();
+        families.asMap().compute(presented.familyId(), (familyId, family) -> {
+            if (family == null || !family.userId().equals(presented.userId())) {
+                result[0] = Rotation.of(Outcome.UNKNOWN);
+                return family;
+            }
+            if (family.current().tokenId().equals(presented.tokenId())) {
+                result[0] = new Rotation(Outcome.ROTATED, next);
+                return new Family(family.userId(), next, presented.tokenId(), now);
+            }
+            if (presented.tokenId() != null && presented.tokenId().equals(family.previousTokenId())
+                    && now.isBefore(family.rotatedAt().plus(graceWindow))) {
+                result[0] = new Rotation(Outcome.GRACE, family.current());
+                return family;
+            }
+            log.warn("리프레시 토큰 재사용 감지, 패밀리 폐기 (User ID: {}, family: {})", family.userId(), familyId);
+            result[0] = Rotation.of(Outcome.REUSED);
+            return null;
+        });
+        return result[0];
+    }
+
+    @Override
+    public void revokeFamily(Long userId, String familyId) {
+        if (familyId == null) return;
+        families.asMap().computeIfPresent(familyId, (id, family) -> family.userId().equals(userId) ? null : family);
+    }
+
+    @Override
+    public void revokeUser(Long userId) {
+        Set<String> familyIds = familyIdsByUser.remove(userId);
+        if (familyIds != null) {
+            families.invalidateAll(familyIds);
+        }
+    }
+
+    private void forget(Long userId, String familyId) {
+        familyIdsByUser.computeIfPresent(userId, (id, familyIds) -> {
+            familyIds.remove(familyId);
+            return familyIds.isEmpty() ? null : familyIds;
+        });
+    }
+
+    private static long untilExpiry(Family family) {
+        return Math.max(0, Duration.between(Instant.now(), family.current().expiresAt()).toNanos());
+    }
+}
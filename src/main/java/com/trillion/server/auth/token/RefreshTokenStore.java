@@ -0,0 +1,46 @@
+package com.trillion.server.auth.token;
+
+import java.time.Instant;
+
+/**
+ * 발급한 리프레시 토큰의 회전 상태를 보관한다.
+ * 로그인 한 번이 패밀리 하나를 만들고, 회전할 때마다 패밀리의 현재 토큰이 바뀐다.
+ * 이미 회전된 토큰이 다시 들어오면(탈취 의심) 패밀리 전체를 폐기한다.
+ * 구현은 auth.refresh-token.store 로 고른다. (memory: InMemoryRefreshTokenStore, user-column: UserColumnRefreshTokenStore)
+ */
+public interface RefreshTokenStore {
+
+    record Token(Long userId, String familyId, String tokenId, String value, Instant expiresAt) {}
+
+    enum Outcome {
+        /** 현재 토큰이 들어와 next로 회전했다. */
+        ROTATED,
+        /** 직전 토큰이 유예 시간 안에 다시 들어왔다. (동시에 갱신한 다른 탭) 이미 발급한 현재 토큰을 돌려준다. */
+        GRACE,
+        /** 회전된 토큰이 유예 시간 밖에서 다시 들어왔다. 패밀리를 폐기했다. */
+        REUSED,
+        /** 패밀리가 없거나 만료/폐기되었다. */
+        UNKNOWN
+    }
+
+    /**
+     * @param token ROTATED면 next, GRACE면 패밀리의 현재 토큰, 그 외에는 null
+     */
+    record Rotation(Outcome outcome, Token token) {
+
+        static Rotation of(Outcome outcome) {
+            return new Rotation(outcome, null);
+        }
+    }
+
+    void startFamily(Token token);
+
+    /**
+     * presented가 패밀리의 현재 토큰이면 next로 바꾼다. 같은 패밀리에 대한 회전은 원자적으로 처리한다.
+     */
+    Rotation rotate(Token presented, Token next);
+
+    void revokeFamily(Long userId, String familyId);
+
+    void revokeUser(Long userId);
+}
@@ -0,0 +1,54 @@
+package com.trillion.server.auth.token;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.trillion.server.users.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * users.refresh_token 컬럼을 쓰는 기존 방식. 사용자마다 토큰(패밀리) 하나만 유지하므로 새 로그인이 다른 기기의 로그인을 끊는다.
+ * 회전은 조건부 UPDATE 한 번으로 처리하고, 유예 시간은 지원하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "user-column")
+@RequiredArgsConstructor
+public class UserColumnRefreshTokenStore implements RefreshTokenStore {
+
+    private final UserRepository userRepository;
+
+    @Override
+    @Transactional
+    public void startFamily(Token token) {
+        userRepository.updateRefreshToken(token.userId(), token.value());
+    }
+
+    @Override
+    @Transactional
+    public Rotation rotate(Token presented, Token next) {
+        if (userRepository.compareAndSetRefreshToken(presented.userId(), presented.value(), next.value()) == 1) {
+            return new Rotation(Outcome.ROTATED, next);
+        }
+        if (userRepository.updateRefreshToken(presented.userId(), null) == 0) {
+            return Rotation.of(Outcome.UNKNOWN);
+        }
+        log.warn("리프레시 토큰 재사용 감지, 토큰 폐기 (User ID: {})", presented.userId());
+        return Rotation.of(Outcome.REUSED);
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(Long userId, String familyId) {
+        userRepository.updateRefreshToken(userId, null);
+    }
+
+    @Override
+    @Transactional
+    public void revokeUser(Long userId) {
+        userRepository.updateRefreshToken(userId, null);
+    }
+}
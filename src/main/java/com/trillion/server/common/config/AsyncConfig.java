@@ -0,0 +1,100 @@
+package com.trillion.server.common.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AsyncConfig {
+
+    public static final String AI_ANALYSIS_EXECUTOR = "aiAnalysisExecutor";
+    public static final String AI_QUESTION_EXECUTOR = "aiQuestionExecutor";
+
+    @Value("${ai.executor.core-pool-size:4}")
+    private int corePoolSize;
+
+    @Value("${ai.executor.max-pool-size:8}")
+    private int maxPoolSize;
+
+    @Value("${ai.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    // 가상 스레드 모드에서는 스레드 비용이 작으므로 동시 실행 수를 크게 잡는다.
+    @Value("${ai.executor.virtual-pool-size:200}")
+    private int virtualPoolSize;
+
+    @Value("${ai.question-executor.core-pool-size:8}")
+    private int questionCorePoolSize;
+
+    @Value("${ai.question-executor.max-pool-size:32}")
+    private int questionMaxPoolSize;
+
+    @Value("${ai.question-executor.queue-capacity:200}")
+    private int questionQueueCapacity;
+
+    @Value("${ai.question-executor.virtual-pool-size:500}")
+    private int questionVirtualPoolSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = AI_ANALYSIS_EXECUTOR)
+    public ThreadPoolTaskExecutor aiAnalysisExecutor(MeterRegistry meterRegistry) {
+        // 큐가 가득 차면 TaskRejectedException → AiAnalysisJobWorker가 작업을 대기열에 반납
+        return boundedExecutor(AI_ANALYSIS_EXECUTOR, "ai-analysis-", "ai.analysis.queue.wait",
+                corePoolSize, maxPoolSize, virtualPoolSize, queueCapacity, meterRegistry);
+    }
+
+    @Bean(name = AI_QUESTION_EXECUTOR)
+    public ThreadPoolTaskExecutor aiQuestionExecutor(MeterRegistry meterRegistry) {
+        // 스트리밍 추가 질문 전용. 가득 차면 ANSWER_FAILED 이벤트로 즉시 응답한다.
+        return boundedExecutor(AI_QUESTION_EXECUTOR, "ai-question-", "ai.question.queue.wait",
+                questionCorePoolSize, questionMaxPoolSize, questionVirtualPoolSize, questionQueueCapacity, meterRegistry);
+    }
+
+    private ThreadPoolTaskExecutor boundedExecutor(String name, String threadNamePrefix, String waitMetric,
+                                                   int core, int max, int virtualSize, int queue,
+                                                   MeterRegistry meterRegistry) {
+        // 큐에서 대기한 시간 (제출 → 실행 시작)
+        Timer waitTimer = Timer.builder(waitMetric)
+                .description(name + " 작업이 큐에서 대기한 시간")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        if (virtualThreads) {
+            executor.setCorePoolSize(virtualSize);
+            executor.setMaxPoolSize(virtualSize);
+            executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix + "v-", 0).factory());
+        } else {
+            executor.setCorePoolSize(core);
+            executor.setMaxPoolSize(max);
+            executor.setThreadNamePrefix(threadNamePrefix);
+        }
+        executor.setQueueCapacity(queue);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        // executor.queued, executor.active, executor.pool.size 등 노출
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), name, Tags.empty())
+                .bindTo(meterRegistry);
+
+        return executor;
+    }
+}
@@ -0,0 +1,50 @@
+package com.trillion.server.common.config;
+
+import com.trillion.server.counsel.entity.AiAnalysisJobEntity;
+import com.trillion.server.counsel.entity.CounselEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * IDENTITY에서 SEQUENCE로 바꾼 테이블은 ddl-auto가 시퀀스를 1부터 새로 만든다.
+ * 기존 행의 id와 겹치지 않도록 기동 시(웹 요청을 받기 전) 시퀀스를 MAX(id) 뒤로 옮긴다. 이미 앞서 있으면 아무것도 하지 않는다.
+ * EntityManagerFactory에 의존해 스키마 생성이 끝난 뒤에 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer {
+
+    private record SequencedTable(String table, String sequence, int allocationSize) {}
+
+    private static final List<SequencedTable> TABLES = List.of(
+            new SequencedTable("counsel", CounselEntity.ID_SEQUENCE, CounselEntity.ID_ALLOCATION_SIZE),
+            new SequencedTable("ai_analysis_job", AiAnalysisJobEntity.ID_SEQUENCE, AiAnalysisJobEntity.ID_ALLOCATION_SIZE)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void alignSequences() {
+        for (SequencedTable table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table.table(), Long.class);
+            if (maxId == null) continue;
+
+            // pooled 최적화는 시퀀스 값 v를 받으면 (v - allocationSize, v] 구간을 쓴다.
+            Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + table.sequence(), Long.class);
+            if (next != null && next - table.allocationSize() >= maxId) continue;
+
+            long restartWith = maxId + table.allocationSize() + 1;
+            jdbcTemplate.execute("ALTER SEQUENCE " + table.sequence() + " RESTART WITH " + restartWith);
+            log.info("id 시퀀스를 기존 데이터 뒤로 옮겼습니다. (Sequence: {}, MaxId: {}, RestartWith: {})",
+                    table.sequence(), maxId, restartWith);
+        }
+    }
+}
@@ -1,34 +1,88 @@
 package com.trillion.server.common.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
-//@Configuration
-//public class RestTemplateConfig {
-//    @Bean
-//    public RestTemplate restTemplate(RestTemplateBuilder builder){
-//        return builder
-//                .setConnectTimeout(Duration.ofSeconds(5))
-//                .setReadTimeout(Duration.ofSeconds(60))
-//                .build();
-//    }
-//}
-
+/**
+ * AI 서버 호출용 HTTP 클라이언트.
+ * 커넥션 풀 하나를 공유하고, 요약/질문 트래픽은 읽기 타임아웃만 다르게 가져간다.
+ */
 @Configuration
 public class RestTemplateConfig {
+
+    @Value("${ai.client.max-total:200}")
+    private int maxTotal;
+
+    @Value("${ai.client.max-per-route:100}")
+    private int maxPerRoute;
+
+    @Value("${ai.client.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${ai.client.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${ai.client.connection-request-timeout-ms:5000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${ai.client.summary.read-timeout-ms:120000}")
+    private long summaryReadTimeoutMs;
+
+    @Value("${ai.client.question.read-timeout-ms:60000}")
+    private long questionReadTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient aiHttpClient(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        // httpcomponents.httpclient.pool.* (available, leased, pending)
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "aiServer").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(120000);
-        factory.setBufferRequestBody(true);
+    public RestTemplate aiSummaryRestTemplate(CloseableHttpClient aiHttpClient) {
+        return aiRestTemplate(aiHttpClient, summaryReadTimeoutMs);
+    }
+
+    @Bean
+    public RestTemplate aiQuestionRestTemplate(CloseableHttpClient aiHttpClient) {
+        return aiRestTemplate(aiHttpClient, questionReadTimeoutMs);
+    }
+
+    private RestTemplate aiRestTemplate(CloseableHttpClient httpClient, long readTimeoutMs) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        factory.setConnectionRequestTimeout(Duration.ofMillis(connectionRequestTimeoutMs));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
 
         RestTemplate restTemplate = new RestTemplate(factory);
         restTemplate.getMessageConverters()
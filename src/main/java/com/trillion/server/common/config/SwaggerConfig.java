@@ -1,6 +1,8 @@
 package com.trillion.server.common.config;
 
+import com.trillion.server.auth.resolver.AuthUser;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,6 +14,11 @@ import io.swagger.v3.oas.models.security.SecurityScheme;
 @Configuration
 public class SwaggerConfig {
 
+    static {
+        // @CurrentUser 파라미터는 요청 값이 아니라 인증 정보에서 채워진다.
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(AuthUser.class);
+    }
+
     @Bean
     public OpenAPI openAPI() {
         String jwt = "JWT";
@@ -0,0 +1,24 @@
+package com.trillion.server.common.exception;
+
+import lombok.Getter;
+
+/**
+ * AI 서버 호출을 시도하지 않고 즉시 거절했을 때 던진다.
+ */
+@Getter
+public class AiServerUnavailableException extends RuntimeException {
+
+    public enum Reason {
+        // 서킷 브레이커가 열려 있음
+        CIRCUIT_OPEN,
+        // 적응형 동시성 한도 초과
+        LIMIT_EXCEEDED
+    }
+
+    private final Reason reason;
+
+    public AiServerUnavailableException(Reason reason) {
+        super(ErrorMessages.AI_SERVER_UNAVAILABLE);
+        this.reason = reason;
+    }
+}
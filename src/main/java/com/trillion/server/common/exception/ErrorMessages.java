@@ -28,11 +28,19 @@ public final class ErrorMessages {
 
     public static final String AI_ANALYSIS_FAILED = "AI 분석 중 오류가 발생했습니다.";
     public static final String INVALID_DATE_FORMAT = "날짜 형식이 올바르지 않습니다. (yyyy.MM.dd)";
+    public static final String INVALID_IMPORT_RATE = "분석 요청률은 1 이상이어야 합니다.";
+    public static final String SEARCH_QUERY_REQUIRED = "검색어를 입력하세요.";
+    public static final String INVALID_DATE_RANGE = "조회 시작일이 종료일보다 늦을 수 없습니다.";
+    public static final String INVALID_CURSOR = "상담일 정렬의 커서는 cursorId와 cursorDate를 함께 보내야 합니다.";
 
     public static final String COUNSEL_QUESTION_FAIL = "AI 질문 처리에 실패";
     public static final String CATRGORY_NOT_FOUND = "카테고리가 없습니다.";
     public static final String COUNSEL_SUMMARY_FAIL = "JSON 구조가 올바르지 않습니다.";
 
 
+    public static final String COUNSEL_CONFLICT = "다른 요청과 동시에 상담이 변경되었습니다. 잠시 후 다시 시도해주세요.";
+
     public static final String AI_IS_RUNNING = "현재 AI 분석이 진행중입니다.";
+    public static final String AI_SERVER_UNAVAILABLE = "AI 서버가 응답하지 않아 요청을 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+    public static final String AI_ANALYSIS_BUSY = "AI 분석 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
 }
@@ -0,0 +1,140 @@
+package com.trillion.server.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWT 서명/검증 키 목록. 키 객체는 시작할 때 한 번 만들어 두고, 검증할 때는 토큰 헤더의 kid로 고르기만 한다.
+ *
+ * jwt.keys 항목(쉼표로 구분) 형식:
+ * <pre>
+ *   &lt;kid&gt; HMAC &lt;secret&gt; [verify-until]
+ *   &lt;kid&gt; EC &lt;X.509 공개키 base64&gt;[.&lt;PKCS#8 개인키 base64&gt;] [verify-until]
+ * </pre>
+ * 개인키가 없는 EC 키로는 검증만 할 수 있다. verify-until(ISO-8601)이 지나면 그 키로 서명된 토큰을 더 받지 않는다.
+ * kid가 없는 기존 토큰은 jwt.secret으로 검증한다.
+ */
+final class JwtKeyRing extends LocatorAdapter<Key> {
+
+    record KeyEntry(String kid, Key verifyKey, Key signKey, Instant verifyUntil) {
+
+        boolean acceptsAt(Instant now) {
+            return verifyUntil == null || now.isBefore(verifyUntil);
+        }
+    }
+
+    private final Map<String, KeyEntry> byKid = new HashMap<>();
+    private final KeyEntry legacy;
+    private final KeyEntry signing;
+
+    /**
+     * @param legacySecret  kid 없는 토큰용 HMAC 비밀값. 비어 있으면 kid 없는 토큰을 받지 않는다.
+     * @param signingKeyId  서명에 쓸 kid. 비어 있으면 legacySecret으로 kid 없이 서명한다.
+     */
+    JwtKeyRing(String legacySecret, Instant legacyVerifyUntil, String signingKeyId, String[] entries) {
+        if (legacySecret != null && !legacySecret.isBlank()) {
+            Key key = Keys.hmacShaKeyFor(legacySecret.getBytes());
+            this.legacy = new KeyEntry(null, key, key, legacyVerifyUntil);
+        } else {
+            this.legacy = null;
+        }
+
+        for (String entry : entries) {
+            if (entry == null || entry.isBlank()) continue;
+            KeyEntry parsed = parse(entry.trim());
+            if (byKid.putIfAbsent(parsed.kid(), parsed) != null) {
+                throw new IllegalStateException("jwt.keys에 같은 kid가 두 번 있습니다: " + parsed.kid());
+            }
+        }
+
+        if (signingKeyId == null || signingKeyId.isBlank()) {
+            this.signing = legacy;
+        } else {
+            KeyEntry entry = byKid.get(signingKeyId);
+            if (entry == null || entry.signKey() == null) {
+                throw new IllegalStateException("jwt.signing-key-id에 해당하는 서명 키가 없습니다: " + signingKeyId);
+            }
+            this.signing = entry;
+        }
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        KeyEntry entry = entryOf(header.getKeyId());
+        if (!entry.acceptsAt(Instant.now())) {
+            throw new UnsupportedJwtException("검증 기간이 지난 서명 키입니다: " + header.getKeyId());
+        }
+        return entry.verifyKey();
+    }
+
+    /**
+     * 서명 키. 검증 전용 노드(개인키, 비밀값 없음)에서는 예외를 던진다.
+     */
+    KeyEntry signing() {
+        if (signing == null) {
+            throw new IllegalStateException("이 서버에는 JWT 서명 키가 설정되어 있지 않습니다.");
+        }
+        return signing;
+    }
+
+    /**
+     * 이 kid로 서명된 토큰을 받을 수 있는 마지막 시각. 제한이 없으면 null.
+     */
+    Instant verifyUntil(String kid) {
+        return entryOf(kid).verifyUntil();
+    }
+
+    private KeyEntry entryOf(String kid) {
+        KeyEntry entry = kid == null ? legacy : byKid.get(kid);
+        if (entry == null) {
+            throw new UnsupportedJwtException("알 수 없는 서명 키입니다: " + kid);
+        }
+        return entry;
+    }
+
+    private static KeyEntry parse(String entry) {
+        String[] parts = entry.split("\\s+");
+        if (parts.length < 3 || parts.length > 4) {
+            throw new IllegalStateException("jwt.keys 항목 형식이 올바르지 않습니다: " + parts[0]);
+        }
+        String kid = parts[0];
+        Instant verifyUntil = parts.length == 4 ? Instant.parse(parts[3]) : null;
+
+        switch (parts[1].toUpperCase()) {
+            case "HMAC": {
+                Key key = Keys.hmacShaKeyFor(parts[2].getBytes(StandardCharsets.UTF_8));
+                return new KeyEntry(kid, key, key, verifyUntil);
+            }
+            case "EC": {
+                String[] material = parts[2].split("\\.");
+                try {
+                    KeyFactory factory = KeyFactory.getInstance("EC");
+                    PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(material[0])));
+                    PrivateKey privateKey = material.length > 1
+                            ? factory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(material[1])))
+                            : null;
+                    return new KeyEntry(kid, publicKey, privateKey, verifyUntil);
+                } catch (GeneralSecurityException | IllegalArgumentException e) {
+                    throw new IllegalStateException("jwt.keys의 EC 키를 읽을 수 없습니다: " + kid, e);
+                }
+            }
+            default:
+                throw new IllegalStateException("지원하지 않는 JWT 키 종류입니다: " + parts[1]);
+        }
+    }
+}
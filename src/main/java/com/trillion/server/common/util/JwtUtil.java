@@ -1,97 +1,192 @@
 package com.trillion.server.common.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-
-import javax.crypto.SecretKey;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Component
 public class JwtUtil {
 
-    private final SecretKey secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
+    // 서명 검증을 통과한 토큰의 클레임. 키는 토큰의 SHA-256이며, 토큰 만료 시각과 서명 키의 검증 기한 중 이른 때(최대 maxTtl)에 만료된다.
+    private final Cache<String, CachedToken> verifiedTokens;
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+
+    /**
+     * 서명과 만료를 확인한 토큰의 클레임. 요청 하나에서는 필터가 한 번 만들어 SecurityContext로 넘긴다.
+     */
+    public record VerifiedToken(Long userId, String type, String role, String tokenId, String familyId,
+                                Instant issuedAt, Instant expiresAt) {
+
+        public boolean isExpired(Instant now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    private record CachedToken(VerifiedToken token, Instant validUntil) {
+
+        boolean isValid(Instant now) {
+            return validUntil == null || validUntil.isAfter(now);
+        }
+    }
+
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
+            @Value("${jwt.secret-verify-until:}") String secretVerifyUntil,
+            @Value("${jwt.signing-key-id:}") String signingKeyId,
+            @Value("${jwt.keys:}") String[] keys,
             @Value("${jwt.access-token-expiration:3600000}") long accessTokenExpiration,
-            @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+            @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration,
+            @Value("${jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize,
+            @Value("${jwt.claims-cache.max-ttl-seconds:300}") long claimsCacheMaxTtlSeconds,
+            MeterRegistry meterRegistry) {
+        this.keyRing = new JwtKeyRing(secret, secretVerifyUntil.isBlank() ? null : Instant.parse(secretVerifyUntil),
+                signingKeyId, keys);
+        // kid별 검증 키는 keyRing이 미리 만들어 두고, 파서는 헤더의 kid로 고르기만 한다.
+        this.jwtParser = Jwts.parser().keyLocator(keyRing).build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+
+        long maxTtlNanos = Duration.ofSeconds(claimsCacheMaxTtlSeconds).toNanos();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new Expiry<String, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedToken cached, long currentTime) {
+                        if (cached.validUntil() == null) return maxTtlNanos;
+                        long untilExpiry = Duration.between(Instant.now(), cached.validUntil()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedToken cached, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedToken cached, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.cacheHitCounter = meterRegistry.counter("jwt.claims.cache", "result", "hit");
+        this.cacheMissCounter = meterRegistry.counter("jwt.claims.cache", "result", "miss");
+        meterRegistry.gauge("jwt.claims.cache.size", verifiedTokens, Cache::estimatedSize);
     }
 
     public String generateAccessToken(Long userId, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("type", "ACCESS");
+        claims.put("role", role);
 
-        return Jwts.builder()
+        return signed(Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(String.valueOf(userId))
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
-                .signWith(secretKey)
+                .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration)))
                 .compact();
     }
 
-    public String generateRefreshToken(Long userId) {
+    /**
+     * 발급한 토큰과 저장소에 기록할 식별자(jti), 만료 시각.
+     */
+    public record IssuedToken(String value, String tokenId, Instant expiresAt) {}
+
+    /**
+     * 같은 로그인에서 회전되어 나온 토큰들은 familyId(fid 클레임)를 공유한다.
+     */
+    public IssuedToken issueRefreshToken(Long userId, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("type", "REFRESH");
+        claims.put("fid", familyId);
 
-        return Jwts.builder()
+        String tokenId = UUID.randomUUID().toString();
+        Date issuedAt = new Date();
+        Date expiration = new Date(issuedAt.getTime() + refreshTokenExpiration);
+        String token = signed(Jwts.builder()
                 .claims(claims)
+                .id(tokenId)
                 .subject(String.valueOf(userId))
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + refreshTokenExpiration))
-                .signWith(secretKey)
+                .issuedAt(issuedAt)
+                .expiration(expiration))
                 .compact();
+        return new IssuedToken(token, tokenId, expiration.toInstant());
     }
 
     public Claims extractClaims(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-        } catch (Exception e) {
-            throw new IllegalArgumentException("유효하지 않은 토큰입니다: " + e.getMessage());
+        return parse(token).getPayload();
+    }
+
+    /**
+     * 토큰의 서명과 만료를 확인한다. 이미 검증한 토큰이면 파싱/서명 검증 없이 캐시된 클레임을 돌려준다.
+     * 검증에 실패한 토큰은 캐시하지 않는다.
+     * @throws IllegalArgumentException 서명이 틀렸거나 만료된 토큰
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("유효하지 않은 토큰입니다: 토큰이 비어 있습니다.");
+        }
+
+        String key = digest(token);
+        CachedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.isValid(Instant.now())) {
+            cacheHitCounter.increment();
+            return cached.token();
         }
+        cacheMissCounter.increment();
+
+        Jws<Claims> jws = parse(token);
+        VerifiedToken verified = toVerifiedToken(jws.getPayload());
+        verifiedTokens.put(key, new CachedToken(verified,
+                earliest(verified.expiresAt(), keyRing.verifyUntil(jws.getHeader().getKeyId()))));
+        return verified;
     }
 
     public Long extractUserId(String token) {
-        Claims claims = extractClaims(token);
-        Object userId = claims.get("userId");
-        if (userId instanceof Number) {
-            return ((Number) userId).longValue();
-        }
-        return Long.parseLong(claims.getSubject());
+        return verify(token).userId();
     }
 
     public String extractRole(String token) {
-        Claims claims = extractClaims(token);
-        return (String) claims.get("role");
+        return verify(token).role();
     }
 
     public String extractTokenType(String token) {
-        Claims claims = extractClaims(token);
-        return (String) claims.get("type");
+        return verify(token).type();
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = extractClaims(token);
-            return claims.getExpiration().before(new Date());
+            return verify(token).isExpired(Instant.now());
         } catch (Exception e) {
             return true;
         }
@@ -99,9 +194,8 @@ public class JwtUtil {
 
     public boolean validateToken(String token, String expectedType) {
         try {
-            Claims claims = extractClaims(token);
-            String type = (String) claims.get("type");
-            return type != null && type.equals(expectedType) && !isTokenExpired(token);
+            VerifiedToken verified = verify(token);
+            return expectedType.equals(verified.type()) && !verified.isExpired(Instant.now());
         } catch (Exception e) {
             return false;
         }
@@ -110,4 +204,47 @@ public class JwtUtil {
     public String generateAccessToken(Long id) {
         return generateAccessToken(id, "USER");
     }
-}
\ No newline at end of file
+
+    private Jws<Claims> parse(String token) {
+        try {
+            return jwtParser.parseSignedClaims(token);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("유효하지 않은 토큰입니다: " + e.getMessage());
+        }
+    }
+
+    // 서명 키에 kid가 있으면 헤더에 넣는다. (jwt.secret으로 서명한 토큰은 기존과 같이 kid 없음)
+    private JwtBuilder signed(JwtBuilder builder) {
+        JwtKeyRing.KeyEntry signing = keyRing.signing();
+        if (signing.kid() != null) {
+            builder = builder.header().keyId(signing.kid()).and();
+        }
+        return builder.signWith(signing.signKey());
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        Object userId = claims.get("userId");
+        Long id = userId instanceof Number number ? number.longValue() : Long.parseLong(claims.getSubject());
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(id, (String) claims.get("type"), (String) claims.get("role"),
+                claims.getId(), (String) claims.get("fid"),
+                issuedAt != null ? issuedAt.toInstant() : null,
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.trillion.server.counsel.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 짧은 시간(window) 동안 또는 최대 N건까지 모인 분석 요청을 하나의 배치 요청으로 AI 서버에 보낸다.
+ * 호출한 스레드는 자기 항목의 결과만 기다린다. ai.batch.enabled=false면 단건 호출로 바로 위임한다.
+ */
+@Slf4j
+@Component
+public class AiAnalysisBatcher {
+
+    private final AiServerClient aiServerClient;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long windowMs;
+    private final long timeoutMs;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService sender;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<PendingAnalysis> buffer = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    private record PendingAnalysis(String chat, String date, CompletableFuture<String> result) {}
+
+    public AiAnalysisBatcher(
+            AiServerClient aiServerClient,
+            @Value("${ai.batch.enabled:false}") boolean enabled,
+            @Value("${ai.batch.max-size:20}") int maxBatchSize,
+            @Value("${ai.batch.window-ms:50}") long windowMs,
+            @Value("${ai.batch.max-concurrent-batches:4}") int maxConcurrentBatches,
+            @Value("${ai.client.summary.read-timeout-ms:120000}") long timeoutMs) {
+        this.aiServerClient = aiServerClient;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMs = windowMs;
+        this.timeoutMs = timeoutMs;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ai-batch-timer").daemon().factory());
+        this.sender = Executors.newFixedThreadPool(maxConcurrentBatches,
+                Thread.ofPlatform().name("ai-batch-", 0).daemon().factory());
+    }
+
+    public String analyze(String chat, String date) throws Exception {
+        if (!enabled) {
+            return aiServerClient.analyze(chat, date);
+        }
+
+        try {
+            return submit(chat, date).get(timeoutMs + windowMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * AI 서버 호출 한 번에 실어 보낼 수 있는 최대 분석 건수
+     */
+    public int maxItemsPerCall() {
+        return enabled ? maxBatchSize : 1;
+    }
+
+    CompletableFuture<String> submit(String chat, String date) {
+        PendingAnalysis pending = new PendingAnalysis(chat, date, new CompletableFuture<>());
+        List<PendingAnalysis> fullBatch = null;
+
+        lock.lock();
+        try {
+            buffer.add(pending);
+            if (buffer.size() >= maxBatchSize) {
+                fullBatch = drain();
+            } else if (buffer.size() == 1) {
+                scheduledFlush = timer.schedule(this::flushByWindow, windowMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (fullBatch != null) send(fullBatch);
+        return pending.result();
+    }
+
+    private void flushByWindow() {
+        List<PendingAnalysis> batch;
+        lock.lock();
+        try {
+            if (buffer.isEmpty()) return;
+            batch = drain();
+        } finally {
+            lock.unlock();
+        }
+        send(batch);
+    }
+
+    // lock을 잡은 상태에서 호출
+    private List<PendingAnalysis> drain() {
+        List<PendingAnalysis> batch = buffer;
+        buffer = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void send(List<PendingAnalysis> batch) {
+        try {
+            sender.execute(() -> sendNow(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private void sendNow(List<PendingAnalysis> batch) {
+        // 한 건만 모였으면 배치 엔드포인트를 거치지 않는다.
+        if (batch.size() == 1) {
+            PendingAnalysis pending = batch.get(0);
+            try {
+                pending.result().complete(aiServerClient.analyze(pending.chat(), pending.date()));
+            } catch (Exception e) {
+                pending.result().completeExceptionally(e);
+            }
+            return;
+        }
+
+        try {
+            List<AiServerClient.BatchItem> items = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                items.add(new AiServerClient.BatchItem(String.valueOf(i), batch.get(i).chat(), batch.get(i).date()));
+            }
+
+            Map<String, AiServerClient.BatchResult> results = aiServerClient.analyzeBatch(items);
+
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<String> future = batch.get(i).result();
+                AiServerClient.BatchResult result = results.get(String.valueOf(i));
+                if (result == null) {
+                    future.completeExceptionally(new IllegalStateException("배치 응답에 결과가 없습니다. (index: " + i + ")"));
+                } else if (result.error() != null) {
+                    future.completeExceptionally(new IllegalStateException(result.error()));
+                } else {
+                    future.complete(result.summaryJson());
+                }
+            }
+        } catch (Exception e) {
+            log.error("AI 배치 분석 실패 ({}건): {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        sender.shutdown();
+    }
+}
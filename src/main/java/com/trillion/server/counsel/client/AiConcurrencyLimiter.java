@@ -0,0 +1,76 @@
+package com.trillion.server.counsel.client;
+
+/**
+ * 관측한 지연 시간으로 동시 호출 한도를 조정하는 AIMD 리미터.
+ * 지연이 기준 지연(관측한 최소 지연)의 tolerance 배를 넘거나 호출이 실패하면 한도를 곱셈으로 줄이고,
+ * 그렇지 않으면 한도가 충분히 사용되고 있을 때 덧셈으로 늘린다.
+ */
+public class AiConcurrencyLimiter {
+
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+
+    private double limit;
+    private int inFlight;
+    private long baselineNanos;
+
+    public AiConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) return false;
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        inFlight = Math.max(0, inFlight - 1);
+
+        if (baselineNanos == 0 || latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        } else {
+            // 서버 특성이 바뀌면 기준 지연도 천천히 따라간다.
+            baselineNanos += (long) ((latencyNanos - baselineNanos) * BASELINE_DRIFT);
+        }
+
+        if (latencyNanos > baselineNanos * tolerance) {
+            decrease();
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized void onDropped() {
+        inFlight = Math.max(0, inFlight - 1);
+        decrease();
+    }
+
+    public synchronized void onIgnored() {
+        inFlight = Math.max(0, inFlight - 1);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int available() {
+        return Math.max(0, (int) limit - inFlight);
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
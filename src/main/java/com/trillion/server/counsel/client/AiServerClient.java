@@ -0,0 +1,188 @@
+package com.trillion.server.counsel.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiServerClient {
+
+    private static final int STREAM_BUFFER_SIZE = 256;
+
+    @Qualifier("aiSummaryRestTemplate")
+    private final RestTemplate aiSummaryRestTemplate;
+
+    @Qualifier("aiQuestionRestTemplate")
+    private final RestTemplate aiQuestionRestTemplate;
+
+    private final ObjectMapper objectMapper;
+    private final AiServerGuard aiServerGuard;
+
+    @Value("${ai.server.url}")
+    private String aiServerUrl;
+
+    @Value("${ai.server.question-stream-path:/question/stream}")
+    private String questionStreamPath;
+
+    @Value("${ai.server.batch-path:/batch}")
+    private String batchPath;
+
+    public record BatchItem(String id, String chat, String date) {}
+
+    /**
+     * 배치 항목별 결과. 성공이면 summaryJson, 실패면 error가 채워진다.
+     */
+    public record BatchResult(String summaryJson, String error) {}
+
+    /**
+     * 상담 내용을 분석해 AI 서버의 원본 JSON 응답을 반환한다.
+     */
+    public String analyze(String chat, String date) throws Exception {
+        Map<String, String> aiRequestMap = new HashMap<>();
+        aiRequestMap.put("chat", chat);
+        aiRequestMap.put("date", date);
+
+        log.info("AI 서버({})로 분석 요청 전송", aiServerUrl);
+
+        HttpEntity<String> entity = jsonEntity(aiRequestMap);
+        try {
+            return aiServerGuard.call(AiServerGuard.CallType.SUMMARY,
+                    () -> aiSummaryRestTemplate.postForObject(aiServerUrl, entity, String.class));
+        } catch (RestClientResponseException e) {
+            log.error("AI 서버 통신 에러 (Code: {}): {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw e;
+        }
+    }
+
+    /**
+     * 여러 상담을 한 번의 요청으로 분석한다.
+     * 요청: {"items":[{"id","chat","date"}]}, 응답: {"results":[{"id","result"} | {"id","error"}]}
+     * 각 result는 단건 분석 응답과 같은 구조다.
+     */
+    public Map<String, BatchResult> analyzeBatch(List<BatchItem> items) throws Exception {
+        log.info("AI 서버({})로 배치 분석 요청 전송 ({}건)", aiServerUrl + batchPath, items.size());
+
+        HttpEntity<String> entity = jsonEntity(Map.of("items", items));
+        String rawResponse;
+        try {
+            rawResponse = aiServerGuard.call(AiServerGuard.CallType.SUMMARY,
+                    () -> aiSummaryRestTemplate.postForObject(aiServerUrl + batchPath, entity, String.class));
+        } catch (RestClientResponseException e) {
+            log.error("AI 서버 배치 통신 에러 (Code: {}): {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw e;
+        }
+
+        Map<String, BatchResult> results = new HashMap<>();
+        for (JsonNode node : objectMapper.readTree(rawResponse).path("results")) {
+            String id = node.path("id").asText();
+            if (node.hasNonNull("error")) {
+                results.put(id, new BatchResult(null, node.get("error").asText()));
+            } else {
+                results.put(id, new BatchResult(objectMapper.writeValueAsString(node.path("result")), null));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 요약 결과를 문맥으로 추가 질문을 보내고 AI 서버의 원본 응답을 반환한다.
+     */
+    public String ask(String summaryJson, String question) throws Exception {
+        Map<String, Object> aiRequestMap = new HashMap<>();
+        aiRequestMap.put("question", question);
+        aiRequestMap.put("summary", objectMapper.readTree(summaryJson));
+
+        log.info("AI 서버로 추가 질문 전송");
+
+        HttpEntity<String> entity = jsonEntity(aiRequestMap);
+        return aiServerGuard.call(AiServerGuard.CallType.QUESTION,
+                () -> aiQuestionRestTemplate.postForObject(aiServerUrl + "/question", entity, String.class));
+    }
+
+    /**
+     * 추가 질문을 스트리밍 엔드포인트로 보내고, 응답 청크가 도착하는 대로 onChunk로 전달한다.
+     * cancellation이 취소되면 AI 서버와의 연결을 끊고 CancellationException을 던진다.
+     * @return 스트림이 끝난 뒤 이어 붙인 전체 답변
+     */
+    public String askStream(String summaryJson, String question, Consumer<String> onChunk,
+                            AiStreamCancellation cancellation) throws Exception {
+        Map<String, Object> aiRequestMap = new HashMap<>();
+        aiRequestMap.put("question", question);
+        aiRequestMap.put("summary", objectMapper.readTree(summaryJson));
+        byte[] body = objectMapper.writeValueAsBytes(aiRequestMap);
+
+        log.info("AI 서버로 추가 질문 스트리밍 요청 전송");
+
+        // 긴 답변이 느린 호출로 집계되어 서킷을 열지 않도록, 응답 헤더 도착까지만 가드가 측정한다.
+        return aiServerGuard.callStream(AiServerGuard.CallType.QUESTION,
+                onResponseStarted -> aiQuestionRestTemplate.execute(aiServerUrl + questionStreamPath, HttpMethod.POST,
+                        request -> {
+                            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                            request.getHeaders().setAccept(List.of(MediaType.TEXT_PLAIN, MediaType.ALL));
+                            request.getBody().write(body);
+                        },
+                        response -> {
+                            onResponseStarted.run();
+                            StringBuilder answer = new StringBuilder();
+                            InputStream body = response.getBody();
+                            cancellation.attach(body);
+                            try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+                                char[] buffer = new char[STREAM_BUFFER_SIZE];
+                                int read;
+                                while (!cancellation.isCancelled() && (read = reader.read(buffer)) != -1) {
+                                    String chunk = new String(buffer, 0, read);
+                                    answer.append(chunk);
+                                    onChunk.accept(chunk);
+                                }
+                            } catch (IOException e) {
+                                if (!cancellation.isCancelled()) throw e;
+                            }
+                            if (cancellation.isCancelled()) {
+                                throw new CancellationException("답변 스트림이 취소되었습니다.");
+                            }
+                            return answer.toString();
+                        }));
+    }
+
+    /**
+     * AI 서버가 답변을 JSON 문자열("...")로 감싸 보내는 경우 이스케이프를 풀어 반환한다.
+     */
+    public String parseAnswer(String rawResponse) throws JsonProcessingException {
+        if (rawResponse == null) return "";
+        String trimmed = rawResponse.trim();
+        if (trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return objectMapper.readValue(trimmed, String.class);
+        }
+        return rawResponse;
+    }
+
+    private HttpEntity<String> jsonEntity(Object body) throws JsonProcessingException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(objectMapper.writeValueAsString(body), headers);
+    }
+}
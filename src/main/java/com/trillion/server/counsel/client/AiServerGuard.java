@@ -0,0 +1,172 @@
+package com.trillion.server.counsel.client;
+
+import com.trillion.server.common.exception.AiServerUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AI 서버 호출을 서킷 브레이커와 호출 유형별 적응형 동시성 리미터로 감싼다.
+ * 서킷이 열려 있거나 한도를 넘으면 AI 서버를 기다리지 않고 AiServerUnavailableException을 던진다.
+ */
+@Slf4j
+@Component
+public class AiServerGuard {
+
+    public enum CallType { SUMMARY, QUESTION }
+
+    private final AiCircuitBreaker circuitBreaker;
+    private final Map<CallType, AiConcurrencyLimiter> limiters = new EnumMap<>(CallType.class);
+    private final Map<CallType, Long> slowCallNanos = new EnumMap<>(CallType.class);
+    private final Counter circuitRejected;
+    private final Counter limitRejected;
+
+    public AiServerGuard(
+            @Value("${ai.circuit.window-size:20}") int windowSize,
+            @Value("${ai.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${ai.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${ai.circuit.open-duration-ms:30000}") long openDurationMs,
+            @Value("${ai.circuit.half-open-permits:3}") int halfOpenPermits,
+            @Value("${ai.circuit.summary-slow-call-ms:60000}") long summarySlowCallMs,
+            @Value("${ai.circuit.question-slow-call-ms:30000}") long questionSlowCallMs,
+            @Value("${ai.limiter.initial-limit:8}") int initialLimit,
+            @Value("${ai.limiter.min-limit:1}") int minLimit,
+            @Value("${ai.limiter.max-limit:200}") int maxLimit,
+            @Value("${ai.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${ai.limiter.latency-tolerance:2.0}") double latencyTolerance,
+            MeterRegistry meterRegistry) {
+        this.circuitBreaker = new AiCircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDurationMs, halfOpenPermits);
+        this.slowCallNanos.put(CallType.SUMMARY, TimeUnit.MILLISECONDS.toNanos(summarySlowCallMs));
+        this.slowCallNanos.put(CallType.QUESTION, TimeUnit.MILLISECONDS.toNanos(questionSlowCallMs));
+
+        Gauge.builder("ai.circuit.state", circuitBreaker, cb -> cb.currentState().ordinal())
+                .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .register(meterRegistry);
+
+        for (CallType type : CallType.values()) {
+            AiConcurrencyLimiter limiter = new AiConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance);
+            limiters.put(type, limiter);
+            String tag = type.name().toLowerCase();
+            Gauge.builder("ai.limiter.limit", limiter, AiConcurrencyLimiter::getLimit).tag("type", tag).register(meterRegistry);
+            Gauge.builder("ai.limiter.inflight", limiter, AiConcurrencyLimiter::getInFlight).tag("type", tag).register(meterRegistry);
+        }
+
+        this.circuitRejected = meterRegistry.counter("ai.guard.rejected", "reason", "circuit_open");
+        this.limitRejected = meterRegistry.counter("ai.guard.rejected", "reason", "limit_exceeded");
+    }
+
+    public <T> T call(CallType type, Callable<T> call) throws Exception {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejected.increment();
+            throw new AiServerUnavailableException(AiServerUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+
+        AiConcurrencyLimiter limiter = limiters.get(type);
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            limitRejected.increment();
+            throw new AiServerUnavailableException(AiServerUnavailableException.Reason.LIMIT_EXCEEDED);
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.call();
+            onCompleted(type, limiter, System.nanoTime() - start);
+            return result;
+        } catch (HttpClientErrorException e) {
+            onClientError(limiter);
+            throw e;
+        } catch (Exception e) {
+            onError(limiter, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 스트리밍 호출을 보호한다. 응답 헤더가 도착한 시점(첫 바이트까지의 시간)만 서킷과 리미터에 반영하고,
+     * 본문을 흘려보내는 시간은 느린 호출이나 지연으로 세지 않는다. 스트림 도중 끊긴 경우도 서버 상태 판단에 쓰지 않는다.
+     * call은 응답 헤더를 받자마자 전달받은 Runnable을 호출해야 한다.
+     */
+    public <T> T callStream(CallType type, StreamingCall<T> call) throws Exception {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejected.increment();
+            throw new AiServerUnavailableException(AiServerUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+
+        AiConcurrencyLimiter limiter = limiters.get(type);
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            limitRejected.increment();
+            throw new AiServerUnavailableException(AiServerUnavailableException.Reason.LIMIT_EXCEEDED);
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean recorded = new AtomicBoolean();
+        Runnable onResponseStarted = () -> {
+            if (recorded.compareAndSet(false, true)) {
+                onCompleted(type, limiter, System.nanoTime() - start);
+            }
+        };
+        try {
+            T result = call.call(onResponseStarted);
+            onResponseStarted.run();
+            return result;
+        } catch (HttpClientErrorException e) {
+            if (recorded.compareAndSet(false, true)) {
+                onClientError(limiter);
+            }
+            throw e;
+        } catch (Exception e) {
+            if (recorded.compareAndSet(false, true)) {
+                onError(limiter, e);
+            }
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    public interface StreamingCall<T> {
+        T call(Runnable onResponseStarted) throws Exception;
+    }
+
+    private void onCompleted(CallType type, AiConcurrencyLimiter limiter, long latency) {
+        limiter.onSuccess(latency);
+        if (latency > slowCallNanos.get(type)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    private void onClientError(AiConcurrencyLimiter limiter) {
+        // 4xx는 요청 문제이므로 서버 상태 판단에 쓰지 않는다.
+        limiter.onIgnored();
+        circuitBreaker.onIgnored();
+    }
+
+    private void onError(AiConcurrencyLimiter limiter, Exception e) {
+        limiter.onDropped();
+        circuitBreaker.onFailure();
+        if (circuitBreaker.currentState() == AiCircuitBreaker.State.OPEN) {
+            log.warn("AI 서버 서킷 브레이커 OPEN: {}", e.getMessage());
+        }
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitBreaker.currentState() == AiCircuitBreaker.State.OPEN;
+    }
+
+    public int availablePermits(CallType type) {
+        return limiters.get(type).available();
+    }
+}
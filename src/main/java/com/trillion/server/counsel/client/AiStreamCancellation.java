@@ -0,0 +1,46 @@
+package com.trillion.server.counsel.client;
+
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 진행 중인 AI 스트리밍 응답을 다른 스레드(SSE 완료/타임아웃/에러 콜백)에서 끊는다.
+ * 응답 본문이 열리기 전에 취소되면 열리는 즉시 끊는다.
+ */
+public class AiStreamCancellation {
+
+    private volatile boolean cancelled;
+    private volatile InputStream body;
+
+    public void cancel() {
+        cancelled = true;
+        abort(body);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void attach(InputStream body) {
+        this.body = body;
+        if (cancelled) {
+            abort(body);
+        }
+    }
+
+    private static void abort(InputStream body) {
+        if (body == null) return;
+        try {
+            // close()는 남은 본문을 끝까지 읽어 연결을 재사용하려 하므로, 연결 자체를 버려서 블로킹된 read를 깨운다.
+            if (body instanceof EofSensorInputStream sensor) {
+                sensor.abort();
+            } else {
+                body.close();
+            }
+        } catch (IOException ignored) {
+            // 이미 닫힌 스트림이다.
+        }
+    }
+}
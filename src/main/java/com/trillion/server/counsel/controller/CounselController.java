@@ -1,61 +1,159 @@
 package com.trillion.server.counsel.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.trillion.server.auth.resolver.AuthUser;
+import com.trillion.server.auth.resolver.CurrentUser;
 import com.trillion.server.common.exception.ErrorMessages;
 import com.trillion.server.common.exception.SuccessMessages;
 import com.trillion.server.common.exception.SuccessResponse;
-import com.trillion.server.common.util.JwtUtil;
 import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.entity.CounselCategory;
+import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.counsel.service.CounselExportService;
+import com.trillion.server.counsel.service.CounselImportService;
 import com.trillion.server.counsel.service.CounselService;
+import com.trillion.server.counsel.service.CounselSseEmitterService;
+import com.trillion.server.counsel.service.CounselStatService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @RequestMapping("api/counsels")
 @RequiredArgsConstructor
 @Tag(name ="상담", description = "상담 요약 관리 API")
 public class CounselController {
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String GZIP_VALUE = "application/gzip";
+
     private final CounselService counselService;
-    private final JwtUtil jwtUtil;
+    private final CounselStatService counselStatService;
+    private final CounselExportService counselExportService;
+    private final CounselImportService counselImportService;
+    private final CounselSseEmitterService sseEmitterService;
 
     @Operation(summary = "회원 요약 리스트 조회", description = "해당 회원이 작성한 상담 요약 리스트를 조회힙니다.")
     @GetMapping
     public ResponseEntity<SuccessResponse<CounselDto.CounselCursorResponse>> getCounselList(
-            @CookieValue(value = "accessToken") String accessToken,
+            @CurrentUser AuthUser authUser,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursorDate,
+            @RequestParam(defaultValue = "CREATED") CounselDto.CounselListSort sort,
+            @RequestParam(required = false) CounselCategory category,
+            @RequestParam(required = false) CounselStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @RequestParam(defaultValue = "10") int size ){
+
+        Long userId = authUser.getUserId();
+
+        CounselDto.CounselListFilter filter = new CounselDto.CounselListFilter(category, status, dateFrom, dateTo);
+        CounselDto.CounselCursorResponse response = counselService.getCounselList(userId, filter, cursorId, cursorDate, sort, size);
+        return ResponseEntity.ok(SuccessResponse.of(response));
+    }
+
+    @Operation(summary = "상담 검색", description = "제목, 상담 내용, AI 요약에서 검색어가 들어간 상담을 관련도 순으로 조회합니다.")
+    @GetMapping("/search")
+    public ResponseEntity<SuccessResponse<CounselDto.CounselSearchResponse>> searchCounsels(
+            @CurrentUser AuthUser authUser,
+            @RequestParam String q,
+            @RequestParam(required = false) Long cursorScore,
             @RequestParam(required = false) Long cursorId,
             @RequestParam(defaultValue = "10") int size ){
 
-        Long userId = jwtUtil.extractUserId(accessToken);
+        Long userId = authUser.getUserId();
 
-        CounselDto.CounselCursorResponse response = counselService.getCounselList(userId, cursorId, size);
+        CounselDto.CounselSearchResponse response = counselService.searchCounsels(userId, q, cursorScore, cursorId, size);
+        return ResponseEntity.ok(SuccessResponse.of(response));
+    }
+
+    @Operation(summary = "상담 통계", description = "카테고리/상태별 건수, 월별 상담 수, 평균 AI 분석 소요 시간을 조회합니다.")
+    @GetMapping("/stats")
+    public ResponseEntity<SuccessResponse<CounselDto.CounselStatsResponse>> getCounselStats(
+            @CurrentUser AuthUser authUser) {
+
+        Long userId = authUser.getUserId();
+
+        return ResponseEntity.ok(SuccessResponse.of(counselStatService.getStats(userId)));
+    }
+
+    @Operation(summary = "상담 내보내기", description = "회원의 상담 전체(상담 내용, AI 요약, 추가 질문 포함)를 NDJSON 파일로 내려받습니다. gzip=true면 gzip으로 압축합니다.")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCounsels(
+            @CurrentUser AuthUser authUser,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        Long userId = authUser.getUserId();
+
+        String filename = "counsels-" + userId + (gzip ? ".ndjson.gz" : ".ndjson");
+        StreamingResponseBody body = out -> counselExportService.export(userId, out, gzip);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? GZIP_VALUE : NDJSON_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @Operation(summary = "상담 가져오기", description = "NDJSON(한 줄에 {\"title\", \"date\": \"yyyy-MM-dd\", \"chat\"})으로 된 상담 기록을 한 번에 저장합니다. " +
+            "Content-Encoding: gzip 본문도 받습니다. analyze=true면 ratePerMinute 속도(설정한 최댓값 이하)로 AI 분석을 예약합니다. 관리자만 호출할 수 있습니다. " +
+            "중간에 실패하면 completed=false와 처리한 마지막 줄(lastLine)을 돌려주며, afterLine=lastLine으로 같은 파일을 다시 보내면 이어서 가져옵니다.")
+    @PostMapping("/import")
+    public ResponseEntity<SuccessResponse<CounselDto.CounselImportResponse>> importCounsels(
+            @CurrentUser AuthUser authUser,
+            @RequestParam(defaultValue = "false") boolean analyze,
+            @RequestParam(required = false) Integer ratePerMinute,
+            @RequestParam(defaultValue = "0") long afterLine,
+            HttpServletRequest request) throws IOException {
+
+        Long userId = authUser.getUserId();
+
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body);
+        }
+        CounselDto.CounselImportResponse response = counselImportService.importCounsels(userId, body, analyze, ratePerMinute, afterLine);
         return ResponseEntity.ok(SuccessResponse.of(response));
     }
 
     @Operation(summary = "요약하기", description = "상담 요약을 생성합니다.")
     @PostMapping("/summary")
     public ResponseEntity<SuccessResponse<Void>> createCounsel(
-            @CookieValue(value = "accessToken") String accessToken,
+            @CurrentUser AuthUser authUser,
             @Valid @RequestBody CounselDto.CounselCreateRequest request) throws JsonProcessingException {
 
-        if(accessToken == null || accessToken.isEmpty()){
-            throw new IllegalArgumentException(ErrorMessages.AUTH_TOKEN_REQUIRED);
-        }
-        Long userId = jwtUtil.extractUserId(accessToken);
+        Long userId = authUser.getUserId();
+
         Long counselId;
 
+        // AI 분석은 상담 저장과 같은 트랜잭션에서 작업 대기열에 등록되어 AiAnalysisJobWorker가 처리한다.
         if (request.counselId() != null && counselService.existsById(request.counselId())) {
             counselId = counselService.retryCounsel(userId, request.counselId(), request);
         } else {
             counselId = counselService.createCounsel(userId, request);
         }
 
-        counselService.processAiAnalysis(counselId, request);
+        if (!counselService.completeFromCacheIfPresent(counselId, request)) {
+            counselService.failFastIfAiUnavailable(counselId);
+        }
 
         return ResponseEntity.ok(SuccessResponse.of(SuccessMessages.COUNSEL_CREATE_SUCCESS));
     }
@@ -63,10 +161,10 @@ public class CounselController {
     @Operation(summary = "요약 상세 조회", description = "상담 요약의 상세 내용을 조회합니다.")
     @GetMapping("/{counselId}")
     public ResponseEntity<SuccessResponse<CounselDto.CounselDetailResponse>> getCounselDetail(
-            @CookieValue(value = "accessToken") String accessToken,
+            @CurrentUser AuthUser authUser,
             @PathVariable Long counselId
     ){
-        Long userId = jwtUtil.extractUserId(accessToken);
+        Long userId = authUser.getUserId();
         CounselDto.CounselDetailResponse response = counselService.getCounselDetail(userId, counselId);
 
         return ResponseEntity.ok(SuccessResponse.of(response));
@@ -75,14 +173,37 @@ public class CounselController {
     @Operation(summary = "추가 질문", description = "상세 조회에서 추가질문을 하고 답변을 받습니다.")
     @PostMapping("/{counselId}/question")
     public ResponseEntity<SuccessResponse<CounselDto.QuestionResponse>> question(
-            @CookieValue(value = "accessToken") String accessToken,
+            @CurrentUser AuthUser authUser,
             @PathVariable Long counselId,
             @Valid @RequestBody CounselDto.QuestionRequest request
     ){
-        Long userId = jwtUtil.extractUserId(accessToken);
+        Long userId = authUser.getUserId();
 
         CounselDto.QuestionResponse responseData = counselService.question(userId, counselId, request.question());
 
         return ResponseEntity.ok(SuccessResponse.of(SuccessMessages.COUNSEL_QUESTION_SUCCESS, responseData));
     }
+
+    @Operation(summary = "추가 질문 (스트리밍)", description = "AI 답변을 생성되는 대로 SSE(ANSWER_CHUNK)로 전달하고, 완료되면 ANSWER_COMPLETED 이벤트로 전체 답변을 보냅니다.")
+    @PostMapping(value = "/{counselId}/question/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> questionStream(
+            @CurrentUser AuthUser authUser,
+            @PathVariable Long counselId,
+            @Valid @RequestBody CounselDto.QuestionRequest request,
+            BindingResult bindingResult
+    ){
+        // 이 엔드포인트는 text/event-stream만 만들 수 있어 JSON 에러 응답을 쓸 수 없다. 상태 코드는 그대로 두고 본문만 SSE로 보낸다.
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(sseEmitterService.rejectedAnswerStream(ErrorMessages.VALIDATION_FAILED));
+        }
+        Long userId = authUser.getUserId();
+
+        try {
+            return ResponseEntity.ok(counselService.streamQuestion(userId, counselId, request.question()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(sseEmitterService.rejectedAnswerStream(e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(sseEmitterService.rejectedAnswerStream(e.getMessage()));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.trillion.server.counsel.controller;
 
-import com.trillion.server.common.util.JwtUtil;
+import com.trillion.server.auth.resolver.AuthUser;
+import com.trillion.server.auth.resolver.CurrentUser;
 import com.trillion.server.counsel.service.CounselSseEmitterService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +17,6 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 public class CounselSseController {
 
     private final CounselSseEmitterService emitterService;
-    private final JwtUtil jwtUtil;
 
     @Operation(
             summary = "상담 요약 상태 변경 SSE 스트림",
@@ -26,21 +26,14 @@ public class CounselSseController {
             value = "/stream",
             produces = MediaType.TEXT_EVENT_STREAM_VALUE
     )
-    public SseEmitter stream(@CookieValue(value = "accessToken", required = false) String accessToken) {
-        // accessToken이 없으면 즉시 완료된 emitter 반환
-        if (accessToken == null || accessToken.isEmpty()) {
+    public SseEmitter stream(@CurrentUser(required = false) AuthUser authUser) {
+        // 인증되지 않았으면 즉시 완료된 emitter 반환
+        if (authUser == null) {
             SseEmitter emitter = new SseEmitter(0L);
             emitter.complete();
             return emitter;
         }
 
-        try {
-            Long userId = jwtUtil.extractUserId(accessToken);
-            return emitterService.connect(userId);
-        } catch (Exception e) {
-            SseEmitter emitter = new SseEmitter(0L);
-            emitter.complete();
-            return emitter;
-        }
+        return emitterService.connect(authUser.getUserId());
     }
 }
\ No newline at end of file
@@ -1,23 +1,20 @@
 package com.trillion.server.counsel.dto;
 
 import com.fasterxml.jackson.annotation.JsonRawValue;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trillion.server.counsel.entity.CounselCategory;
 import com.trillion.server.counsel.entity.CounselEntity;
 import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.counsel.repository.CounselListView;
 
 import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 public class CounselDto {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Pattern MARKUP_PATTERN = Pattern.compile("\\{\\{(.*?)::(.*?)\\}\\}");
 
     @Builder
     public record CounselCreateRequest(
@@ -42,15 +39,15 @@ public class CounselDto {
             CounselStatus status,
             String summaryPreview
     ){
-        public static CounselListResponse from(CounselEntity entity){
+        public static CounselListResponse from(CounselListView view){
             return CounselListResponse.builder()
-                    .counselId(entity.getId())
+                    .counselId(view.id())
 
-                    .title(entity.getTitle() != null && !entity.getTitle().isBlank() ? entity.getTitle() : "제목 없음")
-                    .date(entity.getCreatedAt().format(DATE_FORMATTER))
-                    .status(entity.getStatus())
-                    .summaryPreview(extractTitleFromJson(entity.getSummaryJson()))
-                    .category(entity.getCategory() != null ? entity.getCategory().getDescription() : null)
+                    .title(view.title() != null && !view.title().isBlank() ? view.title() : "제목 없음")
+                    .date(view.createdAt().format(DATE_FORMATTER))
+                    .status(view.status())
+                    .summaryPreview(view.summaryPreview() != null ? view.summaryPreview() : "요약 정보 없음")
+                    .category(view.category() != null ? view.category().getDescription() : null)
                     .build();
         }
     }
@@ -59,10 +56,73 @@ public class CounselDto {
     public record CounselCursorResponse(
             List<CounselListResponse> content,
             boolean hasNext,
+            Long nextCursorId,
+            // sort=COUNSEL_DATE일 때만 채워진다. 다음 요청에 cursorId와 함께 보낸다.
+            String nextCursorDate
+    ) {
+    }
+
+    @Builder
+    public record CounselSearchResponse(
+            // 관련도 순
+            List<CounselListResponse> content,
+            boolean hasNext,
+            Long nextCursorScore,
             Long nextCursorId
     ) {
     }
 
+    @Builder
+    public record CounselStatsResponse(
+            long total,
+            Map<CounselStatus, Long> byStatus,
+            // 카테고리 설명 -> 완료된 상담 수
+            Map<String, Long> byCategory,
+            // 상담 날짜 기준, 오래된 달부터
+            List<MonthlyCount> monthly,
+            // 완료된 상담이 없으면 null
+            Double averageTurnaroundSeconds
+    ) {
+    }
+
+    public record MonthlyCount(String month, long count) {
+    }
+
+    @Builder
+    public record CounselImportResponse(
+            long imported,
+            long skipped,
+            long queuedForAnalysis,
+            // 건너뛴 줄의 사유 (앞쪽 일부만)
+            List<String> errors,
+            // false면 중간에 실패해 멈췄다. lastLine 다음 줄부터 afterLine=lastLine으로 다시 보내면 된다.
+            boolean completed,
+            // 이 줄 번호까지 저장(또는 건너뜀)을 마쳤다
+            long lastLine,
+            String failure,
+            long elapsedMillis
+    ) {
+    }
+
+    /**
+     * 목록 필터. null인 항목은 적용하지 않으며, 날짜 범위는 양 끝을 포함한다.
+     */
+    public record CounselListFilter(
+            CounselCategory category,
+            CounselStatus status,
+            LocalDate dateFrom,
+            LocalDate dateTo
+    ) {
+    }
+
+    /**
+     * 목록 정렬 기준. CREATED: 등록 역순(id), COUNSEL_DATE: 상담 날짜 역순
+     */
+    public enum CounselListSort {
+        CREATED,
+        COUNSEL_DATE
+    }
+
     @Builder
     public record CounselDetailResponse(
             Long counselId,
@@ -76,11 +136,18 @@ public class CounselDto {
 
     ){
         public static CounselDetailResponse from(CounselEntity entity){
+            return from(entity, entity.getSummaryJson());
+        }
+
+        /**
+         * @param summaryJson 추가 질문을 합친 요약 JSON
+         */
+        public static CounselDetailResponse from(CounselEntity entity, String summaryJson){
             return CounselDetailResponse.builder()
                     .counselId(entity.getId())
                     .title(entity.getTitle())
                     .counselDate(entity.getCounselDate() != null ? entity.getCounselDate().format(DATE_FORMATTER) : "")
-                    .summaryJson(entity.getSummaryJson())
+                    .summaryJson(summaryJson)
                     .chat(entity.getChat())
                     .createdAt(entity.getCreatedAt().format(DATE_FORMATTER))
                     .build();
@@ -98,25 +165,4 @@ public class CounselDto {
             String question,
             String answer
     ){}
-
-    private static String extractTitleFromJson(String jsonString){
-        if(jsonString == null || jsonString.isBlank()){
-            return "요약 정보 없음";
-        }
-        try{
-            JsonNode rootNode = objectMapper.readTree(jsonString);
-            JsonNode titleNode = rootNode.path("data").path("summary").path("counsel_title");
-
-            if (titleNode.isMissingNode()) {
-                return "요약 내용 없음";
-            }
-
-            String rawTitle = titleNode.asText();
-            Matcher matcher = MARKUP_PATTERN.matcher(rawTitle);
-            return matcher.replaceAll("$1");
-
-        } catch (Exception e) {
-            return "요약 정보를 불러올 수 없음";
-        }
-    }
 }
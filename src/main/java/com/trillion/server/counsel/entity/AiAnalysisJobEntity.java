@@ -0,0 +1,118 @@
+package com.trillion.server.counsel.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Table(name = "ai_analysis_job", indexes = {
+        @Index(name = "idx_ai_analysis_job_status_available", columnList = "status, available_at")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AiAnalysisJobEntity {
+    public static final String ID_SEQUENCE = "ai_analysis_job_seq";
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "counsel_id", nullable = false, unique = true)
+    private Long counselId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AiAnalysisJobStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public AiAnalysisJobEntity(Long counselId, LocalDateTime availableAt) {
+        LocalDateTime now = LocalDateTime.now();
+        this.counselId = counselId;
+        this.status = AiAnalysisJobStatus.READY;
+        this.attempts = 0;
+        this.availableAt = availableAt;
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    public void requeue(LocalDateTime availableAt) {
+        this.status = AiAnalysisJobStatus.READY;
+        this.attempts = 0;
+        this.availableAt = availableAt;
+        this.lastError = null;
+        clearLease();
+    }
+
+    public void lease(String leaseToken, String leaseOwner, LocalDateTime leaseExpiresAt) {
+        this.status = AiAnalysisJobStatus.LEASED;
+        this.attempts++;
+        this.leaseToken = leaseToken;
+        this.leaseOwner = leaseOwner;
+        this.leaseExpiresAt = leaseExpiresAt;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isLeasedBy(String leaseToken) {
+        return status == AiAnalysisJobStatus.LEASED && leaseToken != null && leaseToken.equals(this.leaseToken);
+    }
+
+    public void complete() {
+        this.status = AiAnalysisJobStatus.DONE;
+        clearLease();
+    }
+
+    public void release() {
+        // 실행되지 못한 시도는 재시도 횟수에 포함하지 않는다.
+        this.status = AiAnalysisJobStatus.READY;
+        this.attempts = Math.max(0, this.attempts - 1);
+        clearLease();
+    }
+
+    public void retryAt(LocalDateTime availableAt, String error) {
+        this.status = AiAnalysisJobStatus.READY;
+        this.availableAt = availableAt;
+        this.lastError = error;
+        clearLease();
+    }
+
+    public void dead(String error) {
+        this.status = AiAnalysisJobStatus.DEAD;
+        this.lastError = error;
+        clearLease();
+    }
+
+    private void clearLease() {
+        this.leaseToken = null;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
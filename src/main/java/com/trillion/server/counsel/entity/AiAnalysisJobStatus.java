@@ -0,0 +1,8 @@
+package com.trillion.server.counsel.entity;
+
+public enum AiAnalysisJobStatus {
+    READY,
+    LEASED,
+    DONE,
+    DEAD
+}
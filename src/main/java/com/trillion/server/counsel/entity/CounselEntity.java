@@ -12,18 +12,33 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Getter
-@Table(name = "counsel")
+@Table(name = "counsel", indexes = {
+        @Index(name = "idx_counsel_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_counsel_user_date_id", columnList = "user_id, counsel_date, id"),
+        @Index(name = "idx_counsel_user_category_id", columnList = "user_id, category, id"),
+        @Index(name = "idx_counsel_user_status_id", columnList = "user_id, status, id"),
+        // 필터 + 상담일 정렬 목록용. 정렬 방향까지 맞춰 두어 역순 스캔을 못 하는 DB에서도 인덱스 순서로 바로 읽는다.
+        @Index(name = "idx_counsel_user_category_date_id", columnList = "user_id DESC, category DESC, counsel_date DESC, id DESC"),
+        @Index(name = "idx_counsel_user_status_date_id", columnList = "user_id DESC, status DESC, counsel_date DESC, id DESC")
+})
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
 @Slf4j
 public class CounselEntity {
+    public static final int SUMMARY_PREVIEW_MAX_LENGTH = 255;
+    public static final String ID_SEQUENCE = "counsel_seq";
+    public static final int ID_ALLOCATION_SIZE = 100;
+
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼진다. 시퀀스에서 id를 미리 할당받아 대량 저장을 배치로 보낸다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +56,10 @@ public class CounselEntity {
     @Column(name = "summary_json", columnDefinition = "json")
     private String summaryJson;
 
+    // 목록 조회에서 summary_json을 읽지 않도록 분석 완료 시점에 미리 뽑아 둔다.
+    @Column(name = "summary_preview", length = SUMMARY_PREVIEW_MAX_LENGTH)
+    private String summaryPreview;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private CounselStatus status;
@@ -53,6 +72,18 @@ public class CounselEntity {
     @Column(nullable = true)
     private CounselCategory category;
 
+    // 통계의 평균 분석 소요 시간 계산용. 생성/재시도 시각과 분석 완료 시각
+    @Column(name = "analysis_requested_at")
+    private LocalDateTime analysisRequestedAt;
+
+    @Column(name = "analysis_completed_at")
+    private LocalDateTime analysisCompletedAt;
+
+    // 상태 전이(재시도/완료/실패)끼리의 동시 수정을 감지한다.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @Builder
     public CounselEntity(UserEntity user, LocalDate counselDate, String chat, String title, String summaryJson, CounselStatus status, LocalDateTime createdAt, CounselCategory category) {
         this.user = user;
@@ -63,6 +94,7 @@ public class CounselEntity {
         this.status = status != null ? status : CounselStatus.PENDING;
         this.createdAt = createdAt;
         this.category = category;
+        this.analysisRequestedAt = createdAt != null ? createdAt : LocalDateTime.now();
     }
 
     public void completeSummary(String title, String summaryJson) {
@@ -75,25 +107,57 @@ public class CounselEntity {
         this.status = CounselStatus.FAILED;
     }
 
-    public void completeAnalysis(String summaryJson){
-        this.summaryJson = summaryJson;
-        this.status = CounselStatus.COMPLETED;
+    /**
+     * 분석을 시작할 때 읽은 버전 그대로 아직 PENDING인지 확인한다. expectedVersion이 null이면 상태만 본다.
+     */
+    public boolean isAnalysisPending(Long expectedVersion){
+        return status == CounselStatus.PENDING && (expectedVersion == null || expectedVersion == version);
     }
 
-    public void completeAnalysis(String summaryJson, CounselCategory category){
+    public void completeAnalysis(String summaryJson, CounselCategory category, String summaryPreview){
+        requireStatus(CounselStatus.PENDING);
         this.summaryJson = summaryJson;
         this.category = category;
+        this.summaryPreview = summaryPreview != null && summaryPreview.length() > SUMMARY_PREVIEW_MAX_LENGTH
+                ? summaryPreview.substring(0, SUMMARY_PREVIEW_MAX_LENGTH)
+                : summaryPreview;
         this.status = CounselStatus.COMPLETED;
+        this.analysisCompletedAt = LocalDateTime.now();
     }
 
     public void failAnalysis(){
+        requireStatus(CounselStatus.PENDING);
         this.status = CounselStatus.FAILED;
     }
 
     public void retryAnalysis(String title, String chat, LocalDate counselDate){
+        if (status != CounselStatus.IMPORTED) requireStatus(CounselStatus.FAILED);
         this.title = title;
         this.counselDate = counselDate;
         this.chat = chat;
         this.status = CounselStatus.PENDING;
+        this.analysisRequestedAt = LocalDateTime.now();
+        this.analysisCompletedAt = null;
+    }
+
+    /**
+     * 분석을 일부러 늦게 시작하도록 예약한 경우(가져오기) 그 시각을 요청 시각으로 삼아, 대기시킨 시간이 처리 시간에 섞이지 않게 한다.
+     */
+    public void deferAnalysisUntil(LocalDateTime availableAt) {
+        this.analysisRequestedAt = availableAt;
+    }
+
+    /**
+     * 분석 요청부터 완료까지 걸린 시간. 완료되지 않았거나 시각이 없는 예전 상담은 null
+     */
+    public Duration analysisTurnaround(){
+        if (analysisRequestedAt == null || analysisCompletedAt == null) return null;
+        return Duration.between(analysisRequestedAt, analysisCompletedAt);
+    }
+
+    private void requireStatus(CounselStatus expected){
+        if (this.status != expected) {
+            throw new IllegalStateException("상담 상태가 " + expected + "가 아닙니다. (현재: " + this.status + ")");
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.trillion.server.counsel.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상담에 대한 추가 질문과 AI 답변. summary_json을 다시 쓰지 않고 행을 추가만 한다.
+ */
+@Entity
+@Getter
+@Table(name = "counsel_question", indexes = {
+        @Index(name = "idx_counsel_question_counsel_id", columnList = "counsel_id, id")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CounselQuestionEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "counsel_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CounselEntity counsel;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String question;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String answer;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public CounselQuestionEntity(CounselEntity counsel, String question, String answer) {
+        this.counsel = counsel;
+        this.question = question;
+        this.answer = answer;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,57 @@
+package com.trillion.server.counsel.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * 상담 검색용 역색인. 한 행이 (사용자, 단어 조각, 상담) 하나이며, weight는 그 상담에서 조각이 나온 가중 빈도다.
+ * 기본키 순서가 (user_id, term, counsel_id)라서 InnoDB에서는 한 사용자의 같은 조각이 붙어서 저장된다.
+ * 행은 CounselSearchIndexer가 JDBC 배치로 직접 쓰고 읽으며, 이 엔티티는 스키마 정의용이다.
+ */
+@Entity
+@Getter
+@Table(name = "counsel_search_term", indexes = {
+        @Index(name = "idx_counsel_search_term_counsel_id", columnList = "counsel_id")
+})
+@IdClass(CounselSearchTermEntity.Key.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CounselSearchTermEntity {
+
+    public static final int TERM_MAX_LENGTH = 8;
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "term", length = TERM_MAX_LENGTH)
+    private String term;
+
+    @Id
+    @Column(name = "counsel_id")
+    private Long counselId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "counsel_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CounselEntity counsel;
+
+    @Column(nullable = false)
+    private int weight;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        private Long userId;
+        private String term;
+        private Long counselId;
+    }
+}
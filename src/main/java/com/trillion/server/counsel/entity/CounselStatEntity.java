@@ -0,0 +1,65 @@
+package com.trillion.server.counsel.entity;
+
+import com.trillion.server.users.entity.UserEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * 사용자별 상담 통계 카운터. 한 행이 (사용자, 차원, 구간) 하나의 건수와 합계다.
+ * 예) (1, STATUS, COMPLETED), (1, MONTH, 2025-01), (1, TURNAROUND, ALL: 완료 건수와 소요 시간 합(ms))
+ * 행은 CounselStatService가 상태 전이마다 증감하며, 이 엔티티는 스키마 정의용이다.
+ */
+@Entity
+@Getter
+@Table(name = "counsel_stat")
+@IdClass(CounselStatEntity.Key.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CounselStatEntity {
+
+    public enum Dimension {
+        CATEGORY,
+        STATUS,
+        MONTH,
+        TURNAROUND
+    }
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 20)
+    private Dimension dimension;
+
+    @Id
+    @Column(name = "bucket", length = 32)
+    private String bucket;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UserEntity user;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "total_value", nullable = false)
+    private long totalValue;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        private Long userId;
+        private Dimension dimension;
+        private String bucket;
+    }
+}
@@ -3,5 +3,7 @@ package com.trillion.server.counsel.entity;
 public enum CounselStatus {
     PENDING,
     COMPLETED,
-    FAILED
+    FAILED,
+    // 가져오기(import)로 저장만 하고 분석은 요청하지 않은 상담. 재시도로 분석을 요청할 수 있다.
+    IMPORTED
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.trillion.server.counsel.repository;
+
+import com.trillion.server.counsel.entity.AiAnalysisJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AiAnalysisJobRepository extends JpaRepository<AiAnalysisJobEntity, Long> {
+
+    Optional<AiAnalysisJobEntity> findByCounselId(Long counselId);
+
+    // 다른 노드가 잡고 있는 행은 건너뛰고, 만료된 lease는 다시 가져온다.
+    @Query(value = "SELECT * FROM ai_analysis_job " +
+            "WHERE (status = 'READY' AND available_at <= :now) " +
+            "OR (status = 'LEASED' AND lease_expires_at <= :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AiAnalysisJobEntity> findClaimableForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 아직 이 lease를 가지고 있을 때만 만료 시각을 늦춘다. 다른 워커가 다시 가져갔으면 0을 반환한다.
+     */
+    @Modifying
+    @Query("UPDATE AiAnalysisJobEntity j SET j.leaseExpiresAt = :leaseExpiresAt " +
+            "WHERE j.id = :id AND j.leaseToken = :leaseToken " +
+            "AND j.status = com.trillion.server.counsel.entity.AiAnalysisJobStatus.LEASED")
+    int renewLease(@Param("id") Long id, @Param("leaseToken") String leaseToken,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    @Query("SELECT c.id FROM CounselEntity c WHERE c.status = com.trillion.server.counsel.entity.CounselStatus.PENDING " +
+            "AND NOT EXISTS (SELECT j.id FROM AiAnalysisJobEntity j WHERE j.counselId = c.id)")
+    List<Long> findPendingCounselIdsWithoutJob();
+}
@@ -0,0 +1,22 @@
+package com.trillion.server.counsel.repository;
+
+import com.trillion.server.counsel.entity.CounselCategory;
+import com.trillion.server.counsel.entity.CounselStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 내보내기용 상담 한 건. 엔티티를 영속성 컨텍스트에 올리지 않도록 필요한 컬럼만 읽는다.
+ */
+public record CounselExportView(
+        Long id,
+        String title,
+        LocalDate counselDate,
+        LocalDateTime createdAt,
+        CounselCategory category,
+        CounselStatus status,
+        String chat,
+        String summaryJson
+) {
+}
@@ -0,0 +1,29 @@
+package com.trillion.server.counsel.repository;
+
+import com.trillion.server.counsel.entity.CounselCategory;
+import com.trillion.server.counsel.entity.CounselStatus;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * 상담 목록 조회 조건. userId 외의 필터는 null이면 적용하지 않는다.
+ *
+ * @param byCounselDate true면 (counselDate, id) 역순, false면 id 역순
+ * @param cursorId      이전 페이지 마지막 상담 id (첫 페이지는 null)
+ * @param cursorDate    이전 페이지 마지막 상담 날짜 (byCounselDate일 때만 사용)
+ * @param limit         가져올 최대 행 수
+ */
+@Builder
+public record CounselListQuery(
+        Long userId,
+        CounselCategory category,
+        CounselStatus status,
+        LocalDate dateFrom,
+        LocalDate dateTo,
+        boolean byCounselDate,
+        Long cursorId,
+        LocalDate cursorDate,
+        int limit
+) {
+}
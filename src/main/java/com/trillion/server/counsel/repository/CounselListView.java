@@ -0,0 +1,20 @@
+package com.trillion.server.counsel.repository;
+
+import com.trillion.server.counsel.entity.CounselCategory;
+import com.trillion.server.counsel.entity.CounselStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 상담 목록 조회용 프로젝션. chat, summary_json 같은 큰 컬럼은 읽지 않는다.
+ */
+public record CounselListView(
+        Long id,
+        String title,
+        LocalDate counselDate,
+        LocalDateTime createdAt,
+        CounselCategory category,
+        CounselStatus status,
+        String summaryPreview
+) {}
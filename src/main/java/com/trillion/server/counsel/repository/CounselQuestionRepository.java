@@ -0,0 +1,14 @@
+package com.trillion.server.counsel.repository;
+
+import com.trillion.server.counsel.entity.CounselQuestionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CounselQuestionRepository extends JpaRepository<CounselQuestionEntity, Long> {
+
+    List<CounselQuestionEntity> findAllByCounselIdOrderByIdAsc(Long counselId);
+
+    List<CounselQuestionEntity> findAllByCounselIdInOrderByIdAsc(Collection<Long> counselIds);
+}
@@ -1,19 +1,41 @@
 package com.trillion.server.counsel.repository;
 
+import com.trillion.server.counsel.entity.CounselCategory;
 import com.trillion.server.counsel.entity.CounselEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface CounselRepository extends JpaRepository<CounselEntity, Long> {
+public interface CounselRepository extends JpaRepository<CounselEntity, Long>, CounselRepositoryCustom {
 
-    List<CounselEntity> findAllByUserIdOrderByCounselDateDesc(Long userId);
+    @Query("SELECT new com.trillion.server.counsel.repository.CounselListView(c.id, c.title, c.counselDate, c.createdAt, c.category, c.status, c.summaryPreview) " +
+            "FROM CounselEntity c WHERE c.user.id = :userId AND c.id IN :ids")
+    List<CounselListView> findListViewsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 
-    List<CounselEntity> findAllByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+    @Query("SELECT new com.trillion.server.counsel.repository.CounselExportView(c.id, c.title, c.counselDate, c.createdAt, c.category, c.status, c.chat, c.summaryJson) " +
+            "FROM CounselEntity c WHERE c.user.id = :userId AND c.id > :afterId ORDER BY c.id")
+    List<CounselExportView> findExportViewsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("SELECT c FROM CounselEntity c WHERE c.user.id = :userId AND c.id < :cursorId ORDER BY c.id DESC")
-    List<CounselEntity> findByUserIdAndIdLessThan(@Param("userId") Long userId, @Param("cursorId") Long cursorId, Pageable pageable);
+    @Query("SELECT c.id FROM CounselEntity c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT c.user.id FROM CounselEntity c WHERE c.user.id > :afterUserId ORDER BY c.user.id")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+
+    /**
+     * summary_preview 컬럼이 생기기 전에 완료된 상담을 id 순으로 찾는다. (백필)
+     */
+    @Query("SELECT c.id, c.summaryJson FROM CounselEntity c " +
+            "WHERE c.status = com.trillion.server.counsel.entity.CounselStatus.COMPLETED " +
+            "AND c.summaryPreview IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<Object[]> findCompletedWithoutPreview(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE CounselEntity c SET c.summaryPreview = :preview, c.category = COALESCE(c.category, :category) WHERE c.id = :id")
+    int updatePreview(@Param("id") Long id, @Param("preview") String preview, @Param("category") CounselCategory category);
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.trillion.server.counsel.repository;
+
+import java.util.List;
+
+public interface CounselRepositoryCustom {
+
+    List<CounselListView> findListViews(CounselListQuery query);
+}
@@ -0,0 +1,76 @@
+package com.trillion.server.counsel.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 필터 조합마다 쿼리 메서드를 두지 않고, 주어진 조건만 WHERE에 넣어 JPQL을 만든다.
+ * "(:category IS NULL OR ...)" 식의 선택적 조건은 인덱스 범위 검색을 막기 때문에 쓰지 않는다.
+ * 커서 조건은 정렬 키와 같은 (counselDate, id) 또는 id 로 걸어서, 몇 번째 페이지든 인덱스에서 바로 이어 읽는다.
+ */
+public class CounselRepositoryImpl implements CounselRepositoryCustom {
+
+    private static final String SELECT_LIST_VIEW =
+            "SELECT new com.trillion.server.counsel.repository.CounselListView(" +
+                    "c.id, c.title, c.counselDate, c.createdAt, c.category, c.status, c.summaryPreview) " +
+                    "FROM CounselEntity c WHERE c.user.id = :userId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CounselListView> findListViews(CounselListQuery query) {
+        StringBuilder jpql = new StringBuilder(SELECT_LIST_VIEW);
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("userId", query.userId());
+
+        if (query.category() != null) {
+            jpql.append(" AND c.category = :category");
+            params.put("category", query.category());
+        }
+        if (query.status() != null) {
+            jpql.append(" AND c.status = :status");
+            params.put("status", query.status());
+        }
+        if (query.dateFrom() != null) {
+            jpql.append(" AND c.counselDate >= :dateFrom");
+            params.put("dateFrom", query.dateFrom());
+        }
+        if (query.dateTo() != null) {
+            jpql.append(" AND c.counselDate <= :dateTo");
+            params.put("dateTo", query.dateTo());
+        }
+
+        if (query.byCounselDate()) {
+            if (query.cursorId() != null && query.cursorDate() != null) {
+                // counselDate <= :cursorDate 를 따로 두어야 OR 조건만 있을 때와 달리 인덱스 범위가 커서에서 시작한다.
+                jpql.append(" AND c.counselDate <= :cursorDate AND (c.counselDate < :cursorDate OR c.id < :cursorId)");
+                params.put("cursorDate", query.cursorDate());
+                params.put("cursorId", query.cursorId());
+            }
+            jpql.append(" ORDER BY ");
+            // 등치 조건 컬럼도 정렬 키 앞에 두어 (user_id, category|status, counsel_date, id) 인덱스 순서 그대로 LIMIT만큼만 읽게 한다.
+            if (query.category() != null) {
+                jpql.append("c.user.id DESC, c.category DESC, ");
+            } else if (query.status() != null) {
+                jpql.append("c.user.id DESC, c.status DESC, ");
+            }
+            jpql.append("c.counselDate DESC, c.id DESC");
+        } else {
+            if (query.cursorId() != null) {
+                jpql.append(" AND c.id < :cursorId");
+                params.put("cursorId", query.cursorId());
+            }
+            jpql.append(" ORDER BY c.id DESC");
+        }
+
+        TypedQuery<CounselListView> typedQuery = entityManager.createQuery(jpql.toString(), CounselListView.class);
+        params.forEach(typedQuery::setParameter);
+        return typedQuery.setMaxResults(query.limit()).getResultList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.entity.AiAnalysisJobEntity;
+import com.trillion.server.counsel.repository.AiAnalysisJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AiAnalysisJobService {
+
+    private final AiAnalysisJobRepository jobRepository;
+
+    @Value("${ai.job.lease-seconds:180}")
+    private long leaseSeconds;
+
+    @Value("${ai.job.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ai.job.retry-backoff-seconds:10}")
+    private long retryBackoffSeconds;
+
+    /**
+     * 상담 저장과 같은 트랜잭션에서 호출되어야 한다. (outbox)
+     */
+    @Transactional
+    public void enqueue(Long counselId) {
+        enqueue(counselId, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void enqueue(Long counselId, LocalDateTime availableAt) {
+        jobRepository.findByCounselId(counselId)
+                .ifPresentOrElse(
+                        job -> job.requeue(availableAt),
+                        () -> jobRepository.save(new AiAnalysisJobEntity(counselId, availableAt))
+                );
+    }
+
+    /**
+     * 방금 저장한 상담처럼 작업이 없는 것이 확실할 때 조회 없이 추가한다. (대량 가져오기에서 배치 INSERT)
+     */
+    @Transactional
+    public void enqueueNew(Long counselId, LocalDateTime availableAt) {
+        jobRepository.save(new AiAnalysisJobEntity(counselId, availableAt));
+    }
+
+    @Transactional
+    public List<AiAnalysisJobEntity> claim(String owner, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AiAnalysisJobEntity> jobs = jobRepository.findClaimableForUpdate(now, limit);
+
+        LocalDateTime leaseExpiresAt = now.plusSeconds(leaseSeconds);
+        for (AiAnalysisJobEntity job : jobs) {
+            job.lease(UUID.randomUUID().toString(), owner, leaseExpiresAt);
+        }
+        return jobs;
+    }
+
+    /**
+     * 실행기가 작업을 실제로 시작할 때 호출한다. lease를 지금부터 다시 잡아, 대기열에서 기다린 시간이 AI 호출 시간을 깎아먹지 않게 한다.
+     * @return lease를 잃어 다른 워커가 처리 중이면 false
+     */
+    @Transactional
+    public boolean start(Long jobId, String leaseToken) {
+        return jobRepository.renewLease(jobId, leaseToken, LocalDateTime.now().plusSeconds(leaseSeconds)) == 1;
+    }
+
+    public boolean isExhausted(AiAnalysisJobEntity job) {
+        return job.getAttempts() > maxAttempts;
+    }
+
+    @Transactional
+    public void complete(Long jobId, String leaseToken) {
+        jobRepository.findById(jobId)
+                .filter(job -> job.isLeasedBy(leaseToken))
+                .ifPresent(AiAnalysisJobEntity::complete);
+    }
+
+    @Transactional
+    public void release(Long jobId, String leaseToken) {
+        jobRepository.findById(jobId)
+                .filter(job -> job.isLeasedBy(leaseToken))
+                .ifPresent(AiAnalysisJobEntity::release);
+    }
+
+    /**
+     * @return 재시도가 예약되면 true, 재시도 횟수를 모두 소진했으면 false
+     */
+    @Transactional
+    public boolean fail(Long jobId, String leaseToken, String error) {
+        AiAnalysisJobEntity job = jobRepository.findById(jobId)
+                .filter(j -> j.isLeasedBy(leaseToken))
+                .orElse(null);
+
+        // lease를 잃었다면 다른 워커가 이어서 처리한다.
+        if (job == null) return true;
+
+        String lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+
+        if (job.getAttempts() >= maxAttempts) {
+            job.dead(lastError);
+            log.warn("AI 분석 작업 재시도 횟수 초과 (CounselId: {}, Attempts: {})", job.getCounselId(), job.getAttempts());
+            return false;
+        }
+
+        long backoff = retryBackoffSeconds * (1L << Math.min(job.getAttempts() - 1, 6));
+        job.retryAt(LocalDateTime.now().plusSeconds(backoff), lastError);
+        return true;
+    }
+
+    @Transactional
+    public void abandon(Long jobId, String leaseToken, String error) {
+        jobRepository.findById(jobId)
+                .filter(job -> job.isLeasedBy(leaseToken))
+                .ifPresent(job -> job.dead(error));
+    }
+
+    @Transactional
+    public int enqueueOrphanedPending() {
+        List<Long> counselIds = jobRepository.findPendingCounselIdsWithoutJob();
+        LocalDateTime now = LocalDateTime.now();
+        counselIds.forEach(counselId -> jobRepository.save(new AiAnalysisJobEntity(counselId, now)));
+        return counselIds.size();
+    }
+}
@@ -0,0 +1,121 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.common.config.AsyncConfig;
+import com.trillion.server.common.exception.AiServerUnavailableException;
+import com.trillion.server.counsel.client.AiAnalysisBatcher;
+import com.trillion.server.counsel.client.AiServerGuard;
+import com.trillion.server.counsel.entity.AiAnalysisJobEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AiAnalysisJobWorker {
+
+    private final AiAnalysisJobService jobService;
+    private final CounselService counselService;
+    private final AiServerGuard aiServerGuard;
+    private final AiAnalysisBatcher aiAnalysisBatcher;
+
+    @Qualifier(AsyncConfig.AI_ANALYSIS_EXECUTOR)
+    private final ThreadPoolTaskExecutor aiAnalysisExecutor;
+
+    @Value("${ai.job.batch-size:20}")
+    private int batchSize;
+
+    @Value("${ai.job.worker-id:${HOSTNAME:local}}")
+    private String workerId;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOrphanedPending() {
+        int count = jobService.enqueueOrphanedPending();
+        if (count > 0) {
+            log.info("작업이 없는 PENDING 상담 {}건을 AI 분석 대기열에 등록했습니다.", count);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ai.job.poll-interval-ms:1000}")
+    public void poll() {
+        if (aiServerGuard.isCircuitOpen()) return;
+
+        int capacity = availableCapacity();
+        if (capacity <= 0) return;
+
+        List<AiAnalysisJobEntity> jobs = jobService.claim(workerId, Math.min(capacity, batchSize));
+        for (AiAnalysisJobEntity job : jobs) {
+            dispatch(job);
+        }
+    }
+
+    private void dispatch(AiAnalysisJobEntity job) {
+        try {
+            aiAnalysisExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            log.warn("AI 분석 실행기가 가득 차 작업을 반납합니다. (CounselId: {})", job.getCounselId());
+            jobService.release(job.getId(), job.getLeaseToken());
+        }
+    }
+
+    private void run(AiAnalysisJobEntity job) {
+        Long counselId = job.getCounselId();
+
+        if (!jobService.start(job.getId(), job.getLeaseToken())) {
+            log.info("lease를 잃은 AI 분석 작업을 건너뜁니다. (CounselId: {})", counselId);
+            return;
+        }
+
+        if (jobService.isExhausted(job)) {
+            jobService.fail(job.getId(), job.getLeaseToken(), "lease expired");
+            counselService.failAiAnalysis(counselId);
+            return;
+        }
+
+        Optional<CounselService.PendingAnalysis> pending = counselService.findPendingAnalysis(counselId);
+        if (pending.isEmpty()) {
+            // 삭제되었거나 이미 처리된 상담
+            jobService.complete(job.getId(), job.getLeaseToken());
+            return;
+        }
+
+        try {
+            counselService.processAiAnalysis(counselId, pending.get());
+            jobService.complete(job.getId(), job.getLeaseToken());
+        } catch (AiServerUnavailableException e) {
+            if (e.getReason() == AiServerUnavailableException.Reason.LIMIT_EXCEEDED) {
+                jobService.release(job.getId(), job.getLeaseToken());
+                return;
+            }
+            // 서킷이 열려 있으면 재시도하지 않고 바로 FAILED로 전환한다. (사용자가 재요청 가능)
+            jobService.abandon(job.getId(), job.getLeaseToken(), e.getMessage());
+            counselService.failAiAnalysis(counselId, pending.get().version());
+        } catch (Exception e) {
+            log.warn("AI 분석 실패 (CounselId: {}, Attempt: {}): {}", counselId, job.getAttempts(), e.getMessage());
+            boolean retrying = jobService.fail(job.getId(), job.getLeaseToken(), e.getMessage());
+            if (!retrying) {
+                counselService.failAiAnalysis(counselId, pending.get().version());
+            }
+        }
+    }
+
+    private int availableCapacity() {
+        ThreadPoolExecutor executor = aiAnalysisExecutor.getThreadPoolExecutor();
+        // 바로 실행될 수 있는 만큼만 가져온다. 실행기 대기열에 쌓아 두면 lease가 실행 전에 만료되어 다른 워커가 다시 가져간다.
+        int idleWorkers = executor.getMaximumPoolSize() - executor.getActiveCount() - executor.getQueue().size();
+        // 적응형 리미터가 허용하는 만큼만 가져온다.
+        int limiterCapacity = aiServerGuard.availablePermits(AiServerGuard.CallType.SUMMARY) * aiAnalysisBatcher.maxItemsPerCall();
+        return Math.max(0, Math.min(idleWorkers, limiterCapacity));
+    }
+}
@@ -0,0 +1,130 @@
+package com.trillion.server.counsel.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trillion.server.counsel.entity.CounselCategory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * 정규화한 상담 내용(chat) + 상담 날짜의 해시를 키로 AI 분석 결과를 캐시한다.
+ * 같은 키로 동시에 들어온 요청은 하나의 AI 호출을 함께 기다린다.
+ */
+@Component
+public class AiAnalysisResultCache {
+
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[\\t\\x0B\\f \\u00A0]+");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n{2,}");
+
+    private final AsyncCache<String, CachedAnalysis> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+
+    public record CachedAnalysis(String summaryJson, CounselCategory category, String summaryPreview) {}
+
+    public AiAnalysisResultCache(
+            @Value("${ai.cache.analysis.max-size:10000}") long maxSize,
+            @Value("${ai.cache.analysis.ttl-minutes:1440}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .buildAsync();
+        this.hitCounter = meterRegistry.counter("ai.analysis.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("ai.analysis.cache", "result", "miss");
+        this.coalescedCounter = meterRegistry.counter("ai.analysis.cache", "result", "coalesced");
+        meterRegistry.gauge("ai.analysis.cache.size", cache, c -> c.synchronous().estimatedSize());
+    }
+
+    /**
+     * 이미 완료된 결과가 있을 때만 반환한다. 진행 중인 요청은 기다리지 않는다.
+     */
+    public Optional<CachedAnalysis> getIfCompleted(String chat, String date) {
+        CompletableFuture<CachedAnalysis> future = cache.getIfPresent(key(chat, date));
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(future.join());
+    }
+
+    /**
+     * 캐시에 있으면 바로 반환하고, 같은 키로 진행 중인 호출이 있으면 그 결과를 기다린다.
+     * 둘 다 아니면 호출 스레드에서 loader를 실행한다. 실패한 결과는 캐시하지 않는다.
+     */
+    public CachedAnalysis get(String chat, String date, Callable<CachedAnalysis> loader) throws Exception {
+        String key = key(chat, date);
+        CompletableFuture<CachedAnalysis> mine = new CompletableFuture<>();
+        CompletableFuture<CachedAnalysis> existing = cache.asMap().putIfAbsent(key, mine);
+
+        if (existing != null) {
+            if (existing.isDone()) hitCounter.increment();
+            else coalescedCounter.increment();
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            }
+        }
+
+        missCounter.increment();
+        try {
+            CachedAnalysis result = loader.call();
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            // Error까지 받아야 기다리던 호출이 영원히 막히지 않고, 같은 키의 다음 호출이 새로 시도할 수 있다.
+            cache.asMap().remove(key, mine);
+            mine.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    static String key(String chat, String date) {
+        String normalized = normalize(chat) + '\u0000' + (date == null ? "" : date.trim());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String normalize(String chat) {
+        if (chat == null) return "";
+        String text = Normalizer.normalize(chat, Normalizer.Form.NFC)
+                .replace("\r\n", "\n")
+                .replace('\r', '\n');
+        text = HORIZONTAL_WHITESPACE.matcher(text).replaceAll(" ");
+
+        StringBuilder sb = new StringBuilder(text.length());
+        for (String line : text.split("\n")) {
+            sb.append(line.strip()).append('\n');
+        }
+        return BLANK_LINES.matcher(sb.toString().strip()).replaceAll("\n");
+    }
+
+    private static Exception unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Exception e) return e;
+        throw (Error) cause;
+    }
+}
@@ -0,0 +1,90 @@
+package com.trillion.server.counsel.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 상담별 추가 질문 답변 캐시. 키는 정규화한 질문 문장이다.
+ * 상담의 분석 결과(summaryJson)가 바뀌면 해당 상담의 답변을 모두 버린다.
+ */
+@Component
+public class CounselAnswerCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?？!！.。~]+$");
+
+    private final Cache<Long, Answers> cache;
+    private final int maxAnswersPerCounsel;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * 한 상담의 답변 묶음. 무효화되면 캐시에서 떨어져 나가므로, 무효화 이전에 시작된 AI 호출의 답변은 다시 보이지 않는다.
+     */
+    public final class Answers {
+        private final Map<String, String> byQuestion = new ConcurrentHashMap<>();
+
+        public void put(String question, String answer) {
+            if (answer == null || answer.isBlank()) return;
+            if (byQuestion.size() >= maxAnswersPerCounsel) return;
+            byQuestion.putIfAbsent(normalize(question), answer);
+        }
+    }
+
+    public CounselAnswerCache(
+            @Value("${ai.cache.answer.max-counsels:10000}") long maxCounsels,
+            @Value("${ai.cache.answer.max-per-counsel:50}") int maxAnswersPerCounsel,
+            @Value("${ai.cache.answer.ttl-minutes:60}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxCounsels)
+                .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.maxAnswersPerCounsel = maxAnswersPerCounsel;
+        this.hitCounter = meterRegistry.counter("ai.answer.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("ai.answer.cache", "result", "miss");
+        meterRegistry.gauge("ai.answer.cache.size", cache, Cache::estimatedSize);
+    }
+
+    public Optional<String> get(Long counselId, String question) {
+        Answers answers = cache.getIfPresent(counselId);
+        String answer = answers != null ? answers.byQuestion.get(normalize(question)) : null;
+        if (answer == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(answer);
+    }
+
+    /**
+     * AI 호출 전에 받아 두고, 답변을 받은 뒤 put 한다.
+     */
+    public Answers answersOf(Long counselId) {
+        return cache.get(counselId, id -> new Answers());
+    }
+
+    public void invalidate(Long counselId) {
+        cache.invalidate(counselId);
+    }
+
+    static String normalize(String question) {
+        if (question == null) return "";
+        String text = Normalizer.normalize(question, Normalizer.Form.NFKC).strip();
+        text = WHITESPACE.matcher(text).replaceAll(" ");
+        text = TRAILING_PUNCTUATION.matcher(text).replaceAll("");
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,126 @@
+package com.trillion.server.counsel.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.counsel.entity.CounselQuestionEntity;
+import com.trillion.server.counsel.repository.CounselExportView;
+import com.trillion.server.counsel.repository.CounselQuestionRepository;
+import com.trillion.server.counsel.repository.CounselRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 사용자의 상담 전체를 NDJSON(한 줄에 상담 하나)으로 응답 스트림에 바로 쓴다.
+ * id 순으로 한 페이지씩 읽고 쓰고 버리므로, 상담이 몇 건이든 메모리에는 한 페이지만 남는다.
+ * 페이지마다 짧은 읽기 전용 트랜잭션을 쓰기 때문에 느린 클라이언트가 DB 커넥션을 붙잡지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounselExportService {
+
+    private final CounselRepository counselRepository;
+    private final CounselQuestionRepository counselQuestionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${counsel.export.page-size:200}")
+    private int pageSize;
+
+    private record Page(List<CounselExportView> counsels, Map<Long, List<CounselQuestionEntity>> questions) {}
+
+    /**
+     * @return 내보낸 상담 수
+     */
+    public long export(Long userId, OutputStream out, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        long exported = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            long afterId = 0;
+            while (true) {
+                long from = afterId;
+                Page page = transactionTemplate.execute(status -> readPage(userId, from));
+                if (page == null || page.counsels().isEmpty()) break;
+
+                for (CounselExportView counsel : page.counsels()) {
+                    writeCounsel(generator, counsel, page.questions().getOrDefault(counsel.id(), List.of()));
+                }
+                generator.flush();
+
+                exported += page.counsels().size();
+                afterId = page.counsels().get(page.counsels().size() - 1).id();
+            }
+            if (exported > 0) generator.writeRaw('\n');
+        }
+        if (target instanceof GZIPOutputStream gzipStream) gzipStream.finish();
+        out.flush();
+
+        log.info("상담 내보내기 완료 (UserId: {}, Count: {}, Gzip: {})", userId, exported, gzip);
+        return exported;
+    }
+
+    private Page readPage(Long userId, long afterId) {
+        List<CounselExportView> counsels = counselRepository.findExportViewsByUserIdAfter(userId, afterId, PageRequest.of(0, pageSize));
+        if (counsels.isEmpty()) return new Page(counsels, Map.of());
+
+        Map<Long, List<CounselQuestionEntity>> questions = counselQuestionRepository
+                .findAllByCounselIdInOrderByIdAsc(counsels.stream().map(CounselExportView::id).toList()).stream()
+                .collect(Collectors.groupingBy(question -> question.getCounsel().getId()));
+        return new Page(counsels, questions);
+    }
+
+    private void writeCounsel(JsonGenerator generator, CounselExportView counsel, List<CounselQuestionEntity> questions) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("counselId", counsel.id());
+        generator.writeStringField("title", counsel.title());
+        generator.writeStringField("date", counsel.counselDate().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        generator.writeStringField("createdAt", counsel.createdAt() != null ? counsel.createdAt().toString() : null);
+        generator.writeStringField("category", counsel.category() != null ? counsel.category().name() : null);
+        generator.writeStringField("status", counsel.status().name());
+        generator.writeStringField("chat", counsel.chat());
+
+        generator.writeFieldName("summary");
+        writeSummary(generator, counsel.summaryJson());
+
+        generator.writeArrayFieldStart("questions");
+        for (CounselQuestionEntity question : questions) {
+            generator.writeStartObject();
+            generator.writeStringField("question", question.getQuestion());
+            generator.writeStringField("answer", question.getAnswer());
+            generator.writeStringField("createdAt", question.getCreatedAt().toString());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * 저장된 JSON은 다시 파싱하지 않고 그대로 쓴다. 줄바꿈이 들어 있으면 한 줄(NDJSON)이 깨지므로 그때만 다시 직렬화한다.
+     */
+    private void writeSummary(JsonGenerator generator, String summaryJson) throws IOException {
+        if (summaryJson == null || summaryJson.isBlank()) {
+            generator.writeNull();
+        } else if (summaryJson.indexOf('\n') >= 0 || summaryJson.indexOf('\r') >= 0) {
+            generator.writeTree(objectMapper.readTree(summaryJson));
+        } else {
+            generator.writeRawValue(summaryJson);
+        }
+    }
+}
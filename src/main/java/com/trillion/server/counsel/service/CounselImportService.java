@@ -0,0 +1,211 @@
+package com.trillion.server.counsel.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.common.exception.ErrorMessages;
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.entity.CounselEntity;
+import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.users.entity.UserEntity;
+import com.trillion.server.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NDJSON(한 줄에 {"title", "date", "chat"} 하나) 상담 기록을 묶음 단위로 저장한다.
+ * 묶음마다 한 트랜잭션에서 persist 후 flush/clear 하므로 INSERT가 JDBC 배치로 나가고 메모리에는 한 묶음만 남는다.
+ * 중간 묶음에서 실패하면 앞 묶음은 커밋된 채로 멈추고, 어디까지 처리했는지(lastLine)를 돌려준다. 재시도는 afterLine=lastLine으로 이어서 한다.
+ * 분석을 요청하면 AI 서버가 몰리지 않도록 분석 작업의 시작 시각(availableAt)을 요청률에 맞춰 뒤로 벌려 둔다.
+ * 요청률은 설정한 최댓값을 넘지 않으며, 여러 가져오기가 동시에 돌아도 시작 시각을 노드 전체에서 하나의 일정으로 나눠 준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounselImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final UserRepository userRepository;
+    private final AiAnalysisJobService aiAnalysisJobService;
+    private final CounselSearchIndexer searchIndexer;
+    private final CounselStatService statService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${counsel.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${counsel.import.analysis-rate-per-minute:60}")
+    private int defaultAnalysisRatePerMinute;
+
+    @Value("${counsel.import.max-analysis-rate-per-minute:600}")
+    private int maxAnalysisRatePerMinute;
+
+    // 다음 가져오기 분석이 시작할 수 있는 가장 이른 시각. 동시에 도는 가져오기가 함께 나눠 쓴다.
+    private LocalDateTime nextAnalysisAt = LocalDateTime.MIN;
+
+    private record Line(String title, LocalDate date, String chat) {}
+
+    /**
+     * @param analyze              true면 가져온 상담마다 AI 분석을 예약한다. false면 IMPORTED로 저장만 한다.
+     * @param analysisRatePerMinute 분당 분석 시작 수. null이면 기본값, 최댓값을 넘으면 최댓값
+     * @param afterLine            이 줄 번호까지는 이전 시도에서 처리했으므로 건너뛴다. 처음이면 0
+     */
+    public CounselDto.CounselImportResponse importCounsels(Long userId, InputStream in, boolean analyze, Integer analysisRatePerMinute,
+                                                           long afterLine) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException(ErrorMessages.USER_NOT_FOUND);
+        }
+        int ratePerMinute = analysisRatePerMinute != null ? analysisRatePerMinute : defaultAnalysisRatePerMinute;
+        if (ratePerMinute <= 0) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_IMPORT_RATE);
+        }
+        long analysisIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.min(ratePerMinute, maxAnalysisRatePerMinute);
+
+        long startNanos = System.nanoTime();
+        long imported = 0;
+        long skipped = 0;
+        // 이 줄까지는 저장했거나 건너뛰었다. 실패하면 여기서부터 다시 시작하면 된다.
+        long lastLine = afterLine;
+        String failure = null;
+        List<String> errors = new ArrayList<>();
+        List<Line> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String raw;
+            long lineNumber = 0;
+            while ((raw = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= afterLine || raw.isBlank()) continue;
+
+                try {
+                    chunk.add(parse(raw));
+                } catch (IllegalArgumentException | IOException e) {
+                    skipped++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) errors.add(lineNumber + "번째 줄: " + e.getMessage());
+                    continue;
+                }
+
+                if (chunk.size() == chunkSize) {
+                    saveChunk(userId, chunk, analyze, analysisIntervalNanos);
+                    imported += chunk.size();
+                    chunk.clear();
+                    lastLine = lineNumber;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                saveChunk(userId, chunk, analyze, analysisIntervalNanos);
+                imported += chunk.size();
+            }
+            lastLine = Math.max(lastLine, lineNumber);
+        } catch (IOException | RuntimeException e) {
+            // 본문 읽기(손상된 gzip, 클라이언트 중단)나 묶음 저장이 실패했다. 실패한 묶음은 롤백되고 앞 묶음은 남는다.
+            failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.warn("상담 가져오기 중단 (UserId: {}, Imported: {}, LastLine: {}): {}", userId, imported, lastLine, failure);
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("상담 가져오기 완료 (UserId: {}, Imported: {}, Skipped: {}, Analyze: {}, {}ms)",
+                userId, imported, skipped, analyze, elapsedMillis);
+
+        return CounselDto.CounselImportResponse.builder()
+                .imported(imported)
+                .skipped(skipped)
+                .queuedForAnalysis(analyze ? imported : 0)
+                .errors(errors)
+                .completed(failure == null)
+                .lastLine(lastLine)
+                .failure(failure)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    private Line parse(String raw) throws IOException {
+        JsonNode node = objectMapper.readTree(raw);
+        String chat = node.path("chat").asText(null);
+        if (chat == null || chat.isBlank()) {
+            throw new IllegalArgumentException("상담 내용(chat)이 없습니다.");
+        }
+        String date = node.path("date").asText(null);
+        if (date == null) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_DATE_FORMAT);
+        }
+        try {
+            return new Line(node.path("title").asText(null), LocalDate.parse(date), chat);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_DATE_FORMAT);
+        }
+    }
+
+    private void saveChunk(Long userId, List<Line> lines, boolean analyze, long analysisIntervalNanos) {
+        LocalDateTime analysisStart = analyze ? reserveAnalysisSlots(lines.size(), analysisIntervalNanos) : null;
+        transactionTemplate.executeWithoutResult(status -> {
+            UserEntity user = entityManager.getReference(UserEntity.class, userId);
+            LocalDateTime now = LocalDateTime.now();
+
+            List<CounselEntity> counsels = new ArrayList<>(lines.size());
+            List<LocalDateTime> availableAts = new ArrayList<>(lines.size());
+            for (Line line : lines) {
+                CounselEntity counsel = CounselEntity.builder()
+                        .user(user)
+                        .counselDate(line.date())
+                        .title(line.title())
+                        .chat(line.chat())
+                        .status(analyze ? CounselStatus.PENDING : CounselStatus.IMPORTED)
+                        .createdAt(now)
+                        .build();
+                if (analyze) {
+                    LocalDateTime availableAt = analysisStart.plusNanos(availableAts.size() * analysisIntervalNanos);
+                    counsel.deferAnalysisUntil(availableAt);
+                    availableAts.add(availableAt);
+                }
+                entityManager.persist(counsel);
+                counsels.add(counsel);
+            }
+            entityManager.flush();
+
+            if (analyze) {
+                for (int i = 0; i < counsels.size(); i++) {
+                    aiAnalysisJobService.enqueueNew(counsels.get(i).getId(), availableAts.get(i));
+                }
+            }
+            counsels.forEach(searchIndexer::index);
+            statService.onImported(userId, counsels);
+
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * count건의 분석 시작 시각을 intervalNanos 간격으로 예약하고 첫 시각을 반환한다.
+     * 앞선 가져오기가 예약해 둔 시각 뒤에 이어 붙이므로 동시 가져오기 수만큼 부하가 불어나지 않는다.
+     */
+    private synchronized LocalDateTime reserveAnalysisSlots(int count, long intervalNanos) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = nextAnalysisAt.isAfter(now) ? nextAnalysisAt : now;
+        nextAnalysisAt = start.plusNanos(count * intervalNanos);
+        return start;
+    }
+}
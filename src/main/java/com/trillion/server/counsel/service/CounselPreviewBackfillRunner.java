@@ -0,0 +1,80 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.entity.CounselCategory;
+import com.trillion.server.counsel.entity.CounselEntity;
+import com.trillion.server.counsel.repository.CounselRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * summary_preview 컬럼이 생기기 전에 완료된 상담의 미리보기(와 비어 있는 카테고리)를 채우는 일회성 작업.
+ * counsel.backfill.summary-preview.enabled=true로 한 번 기동하면 된다. 페이지 단위로 커밋하므로 중단돼도 이어서 실행할 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "counsel.backfill.summary-preview.enabled", havingValue = "true")
+public class CounselPreviewBackfillRunner implements ApplicationRunner {
+
+    private final CounselRepository counselRepository;
+    private final CounselSummaryParser summaryParser;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${counsel.backfill.summary-preview.page-size:500}")
+    private int pageSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long afterId = 0;
+        int pages = 0;
+
+        while (true) {
+            long from = afterId;
+            Long lastId = transactionTemplate.execute(status -> backfillPage(from));
+            if (lastId == null) break;
+
+            pages++;
+            afterId = lastId;
+        }
+
+        log.info("상담 미리보기 백필 완료 ({}페이지, 마지막 CounselId: {})", pages, afterId);
+    }
+
+    /**
+     * @return 이번 페이지의 마지막 id. 더 이상 대상이 없으면 null
+     */
+    private Long backfillPage(long afterId) {
+        List<Object[]> rows = counselRepository.findCompletedWithoutPreview(afterId, PageRequest.of(0, pageSize));
+        if (rows.isEmpty()) return null;
+
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String summaryJson = (String) row[1];
+
+            CounselCategory category = null;
+            String preview;
+            try {
+                CounselSummaryParser.ParsedSummary parsed = summaryParser.parse(summaryJson);
+                category = parsed.category();
+                preview = parsed.preview();
+            } catch (Exception e) {
+                // 카테고리를 읽을 수 없는 예전 결과도 미리보기는 채운다.
+                preview = summaryParser.previewOf(summaryJson);
+            }
+            if (preview.length() > CounselEntity.SUMMARY_PREVIEW_MAX_LENGTH) {
+                preview = preview.substring(0, CounselEntity.SUMMARY_PREVIEW_MAX_LENGTH);
+            }
+            counselRepository.updatePreview(id, preview, category);
+        }
+        return (Long) rows.get(rows.size() - 1)[0];
+    }
+}
@@ -0,0 +1,52 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.repository.CounselRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 검색 색인(counsel_search_term)이 생기기 전의 상담을 색인하는 일회성 작업.
+ * counsel.backfill.search-index.enabled=true로 한 번 기동하면 된다. 상담마다 색인을 통째로 다시 쓰므로 여러 번 실행해도 결과가 같다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "counsel.backfill.search-index.enabled", havingValue = "true")
+public class CounselSearchBackfillRunner implements ApplicationRunner {
+
+    private final CounselRepository counselRepository;
+    private final CounselSearchIndexer searchIndexer;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${counsel.backfill.search-index.page-size:200}")
+    private int pageSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long afterId = 0;
+        int indexed = 0;
+
+        while (true) {
+            long from = afterId;
+            List<Long> ids = counselRepository.findIdsAfter(from, PageRequest.of(0, pageSize));
+            if (ids.isEmpty()) break;
+
+            transactionTemplate.executeWithoutResult(status ->
+                    counselRepository.findAllById(ids).forEach(searchIndexer::index));
+
+            indexed += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+
+        log.info("상담 검색 색인 백필 완료 ({}건, 마지막 CounselId: {})", indexed, afterId);
+    }
+}
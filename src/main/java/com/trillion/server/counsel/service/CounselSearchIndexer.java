@@ -0,0 +1,165 @@
+package com.trillion.server.counsel.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.counsel.entity.CounselEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 상담 제목/대화/AI 요약을 글자 2-gram으로 쪼개 counsel_search_term에 색인하고 검색한다.
+ * 한국어는 띄어쓰기와 조사 때문에 단어 단위 색인이 잘 맞지 않아 형태소 분석 없이 2-gram을 쓴다. (한 글자 단어는 그대로 색인)
+ * 검색은 질의의 모든 조각을 가진 상담만 돌려주고, 조각별 가중 빈도의 합으로 순위를 매긴다.
+ * 조회는 (user_id, term) 범위만 읽으므로 전체 상담 수와 무관하게 해당 사용자의 해당 조각 수에만 비례한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounselSearchIndexer {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int SUMMARY_WEIGHT = 2;
+    static final int CHAT_WEIGHT = 1;
+    static final int MAX_QUERY_TERMS = 32;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{Mn}+");
+
+    // 자바의 fold()가 DB collation과 완전히 같을 수는 없으므로(예: ß와 ss), PK가 겹치면 가중치를 합친다.
+    private static final String UPSERT_SQL = "INSERT INTO counsel_search_term (user_id, term, counsel_id, weight) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE weight = weight + VALUES(weight)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public record Hit(Long counselId, long score) {}
+
+    /**
+     * 상담의 색인을 현재 내용으로 바꾼다. 호출한 트랜잭션에 함께 묶인다.
+     */
+    public void index(CounselEntity counsel) {
+        Map<String, Integer> weights = new HashMap<>();
+        addTerms(weights, counsel.getTitle(), TITLE_WEIGHT);
+        addTerms(weights, counsel.getChat(), CHAT_WEIGHT);
+        addTerms(weights, summaryText(counsel.getSummaryJson()), SUMMARY_WEIGHT);
+
+        Long userId = counsel.getUser().getId();
+        Long counselId = counsel.getId();
+        List<Object[]> rows = new ArrayList<>(weights.size());
+        weights.forEach((term, weight) -> rows.add(new Object[]{userId, term, counselId, weight}));
+
+        jdbcTemplate.update("DELETE FROM counsel_search_term WHERE counsel_id = ?", counselId);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        log.debug("상담 검색 색인 갱신 (CounselId: {}, Terms: {})", counselId, rows.size());
+    }
+
+    /**
+     * @param cursorScore 이전 페이지 마지막 결과의 점수 (첫 페이지는 null)
+     * @param cursorId    이전 페이지 마지막 결과의 상담 id
+     */
+    public List<Hit> search(Long userId, String query, Long cursorScore, Long cursorId, int limit) {
+        List<String> queryTerms = terms(query).keySet().stream().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty()) return Collections.emptyList();
+
+        StringBuilder sql = new StringBuilder("SELECT counsel_id, SUM(weight) AS score FROM counsel_search_term " +
+                "WHERE user_id = ? AND term IN (");
+        List<Object> args = new ArrayList<>();
+        args.add(userId);
+        for (int i = 0; i < queryTerms.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        args.addAll(queryTerms);
+        sql.append(") GROUP BY counsel_id HAVING COUNT(*) = ?");
+        args.add(queryTerms.size());
+
+        if (cursorScore != null && cursorId != null) {
+            sql.append(" AND (SUM(weight) < ? OR (SUM(weight) = ? AND counsel_id < ?))");
+            args.add(cursorScore);
+            args.add(cursorScore);
+            args.add(cursorId);
+        }
+        sql.append(" ORDER BY score DESC, counsel_id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new Hit(rs.getLong("counsel_id"), rs.getLong("score")), args.toArray());
+    }
+
+    /**
+     * 글자/숫자가 이어진 구간마다 2-gram을 뽑아 빈도를 센다. 한 글자 구간은 그 글자 자체를 조각으로 쓴다.
+     */
+    static Map<String, Integer> terms(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (text == null || text.isBlank()) return counts;
+
+        int[] codePoints = fold(text).codePoints().toArray();
+        int start = 0;
+        while (start < codePoints.length) {
+            if (!Character.isLetterOrDigit(codePoints[start])) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < codePoints.length && Character.isLetterOrDigit(codePoints[end])) end++;
+
+            if (end - start == 1) {
+                counts.merge(new String(codePoints, start, 1), 1, Integer::sum);
+            } else {
+                for (int i = start; i + 1 < end; i++) {
+                    counts.merge(new String(codePoints, i, 2), 1, Integer::sum);
+                }
+            }
+            start = end;
+        }
+        return counts;
+    }
+
+    /**
+     * term 컬럼의 기본 collation(utf8mb4_*_ci)처럼 대소문자와 악센트를 구분하지 않도록 접는다.
+     * 자바 쪽 중복 제거가 DB 비교보다 느슨하면 (ca, cá) 같은 쌍이 PK에서 겹친다. 남는 차이는 UPSERT_SQL이 흡수한다.
+     * 악센트만 떼어 내고 NFC로 다시 합치므로 한글 음절은 그대로 남는다.
+     */
+    private static String fold(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        String decomposed = Normalizer.normalize(normalized, Normalizer.Form.NFD);
+        return Normalizer.normalize(COMBINING_MARKS.matcher(decomposed).replaceAll(""), Normalizer.Form.NFC);
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int fieldWeight) {
+        terms(text).forEach((term, count) -> weights.merge(term, count * fieldWeight, Integer::sum));
+    }
+
+    /**
+     * 요약 JSON의 문자열 값만 모아 마크업을 벗긴 텍스트로 만든다.
+     */
+    private String summaryText(String summaryJson) {
+        if (summaryJson == null || summaryJson.isBlank()) return null;
+        try {
+            StringBuilder sb = new StringBuilder();
+            collectText(objectMapper.readTree(summaryJson), sb);
+            return sb.toString();
+        } catch (Exception e) {
+            log.warn("요약 JSON을 읽지 못해 검색 색인에서 제외합니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void collectText(JsonNode node, StringBuilder sb) {
+        if (node.isTextual()) {
+            sb.append(CounselSummaryParser.stripMarkup(node.asText())).append('\n');
+        } else if (node.isContainerNode()) {
+            node.forEach(child -> collectText(child, sb));
+        }
+    }
+}
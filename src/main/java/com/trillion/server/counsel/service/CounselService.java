@@ -5,39 +5,46 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.trillion.server.common.config.AsyncConfig;
+import com.trillion.server.common.exception.AiServerUnavailableException;
 import com.trillion.server.common.exception.ErrorMessages;
+import com.trillion.server.counsel.client.AiAnalysisBatcher;
+import com.trillion.server.counsel.client.AiServerClient;
+import com.trillion.server.counsel.client.AiServerGuard;
+import com.trillion.server.counsel.client.AiStreamCancellation;
 import com.trillion.server.counsel.dto.CounselDto;
-import com.trillion.server.counsel.entity.CounselCategory;
 import com.trillion.server.counsel.entity.CounselEntity;
+import com.trillion.server.counsel.entity.CounselQuestionEntity;
 import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.counsel.repository.CounselListQuery;
+import com.trillion.server.counsel.repository.CounselListView;
+import com.trillion.server.counsel.repository.CounselQuestionRepository;
 import com.trillion.server.counsel.repository.CounselRepository;
 import com.trillion.server.users.entity.UserEntity;
 import com.trillion.server.users.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.http.converter.StringHttpMessageConverter;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
-import org.springframework.web.client.RestClientResponseException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -46,14 +53,26 @@ import java.util.stream.Collectors;
 public class CounselService {
 
     private final CounselRepository counselRepository;
+    private final CounselQuestionRepository counselQuestionRepository;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
     private final TransactionTemplate transactionTemplate;
-    private final RestTemplate restTemplate;
+    private final AiServerClient aiServerClient;
+    private final AiAnalysisBatcher aiAnalysisBatcher;
+    private final AiServerGuard aiServerGuard;
     private final CounselSseEmitterService sseEmitterService;
+    private final AiAnalysisJobService aiAnalysisJobService;
+    private final AiAnalysisResultCache analysisResultCache;
+    private final CounselAnswerCache answerCache;
+    private final CounselSummaryParser summaryParser;
+    private final CounselSearchIndexer searchIndexer;
+    private final CounselStatService statService;
 
-    @Value("${ai.server.url}")
-    private String aiServerUrl;
+    @Qualifier(AsyncConfig.AI_QUESTION_EXECUTOR)
+    private final ThreadPoolTaskExecutor aiQuestionExecutor;
+
+    @Value("${counsel.optimistic-retry.max-attempts:3}")
+    private int optimisticRetryMaxAttempts;
 
     @Transactional
     public Long createCounsel(Long userId, CounselDto.CounselCreateRequest request) {
@@ -72,12 +91,22 @@ public class CounselService {
                 .createdAt(java.time.LocalDateTime.now())
                 .build();
 
-        counselRepository.save(counsel);
+        // id가 SEQUENCE라 save만으로는 INSERT가 나가지 않는다. 검색어/통계는 JDBC로 상담 행을 참조하므로 먼저 flush한다.
+        counselRepository.saveAndFlush(counsel);
+        searchIndexer.index(counsel);
+        statService.onCreated(counsel);
+        aiAnalysisJobService.enqueue(counsel.getId());
         return counsel.getId();
     }
 
-    @Transactional
+    /**
+     * 재시도는 같은 상담의 늦게 도착한 분석 결과와 경합할 수 있으므로 충돌 시 최대 N번 다시 읽어 판단한다.
+     */
     public Long retryCounsel(Long userId, Long counselId, CounselDto.CounselCreateRequest request){
+        return withOptimisticRetry(counselId, () -> transactionTemplate.execute(status -> retryInTransaction(userId, counselId, request)));
+    }
+
+    private Long retryInTransaction(Long userId, Long counselId, CounselDto.CounselCreateRequest request){
         CounselEntity counsel = counselRepository.findById(counselId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.COUNSEL_NOT_FOUND));
 
@@ -91,11 +120,19 @@ public class CounselService {
             case COMPLETED:
                 throw new IllegalStateException("이미 분석이 완료된 상담입니다.");
             case FAILED:
+            case IMPORTED:
 
                 DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
                 LocalDate counselDate = LocalDate.parse(request.date(), formatter);
 
+                LocalDate previousDate = counsel.getCounselDate();
+                CounselStatus previousStatus = counsel.getStatus();
                 counsel.retryAnalysis(request.title(), request.chat(), counselDate);
+                counselRepository.flush();
+                searchIndexer.index(counsel);
+                statService.onRetried(counsel, previousDate, previousStatus);
+                answerCache.invalidate(counsel.getId());
+                aiAnalysisJobService.enqueue(counsel.getId());
                 break;
             default:
                 throw new IllegalArgumentException("알 수 없는 상담 상태입니다.");
@@ -110,134 +147,248 @@ public class CounselService {
         return counselRepository.existsById(counselId);
     }
 
-    @Async
-    public void processAiAnalysis(Long counselId, CounselDto.CounselCreateRequest request) {
-        try {
-//            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-//            factory.setConnectTimeout(5000);
-//            factory.setReadTimeout(120000);
-//            factory.setBufferRequestBody(true);
-//
-//            RestTemplate localRestTemplate = new RestTemplate(factory);
-//            localRestTemplate.getMessageConverters()
-//                    .add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+    /**
+     * 분석 요청과 분석을 시작한 시점의 상담 버전. 결과를 저장할 때 버전이 바뀌었으면 (재시도 등) 결과를 버린다.
+     */
+    public record PendingAnalysis(CounselDto.CounselCreateRequest request, long version) {}
 
-            Map<String, String> aiRequestMap = new HashMap<>();
-            aiRequestMap.put("chat", request.chat());
-            aiRequestMap.put("date", request.date());
+    @Transactional(readOnly = true)
+    public Optional<PendingAnalysis> findPendingAnalysis(Long counselId) {
+        return counselRepository.findById(counselId)
+                .filter(counsel -> counsel.getStatus() == CounselStatus.PENDING)
+                .map(counsel -> new PendingAnalysis(CounselDto.CounselCreateRequest.builder()
+                        .counselId(counsel.getId())
+                        .title(counsel.getTitle())
+                        .date(counsel.getCounselDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")))
+                        .chat(counsel.getChat())
+                        .build(), counsel.getVersion()));
+    }
 
-            String jsonBody = objectMapper.writeValueAsString(aiRequestMap);
+    /**
+     * AI 분석 대기열(AiAnalysisJobWorker)에서 호출된다.
+     * 실패 시 예외를 던지며, FAILED 전환 여부는 재시도 횟수에 따라 호출 측에서 결정한다.
+     * @return 결과를 저장했으면 true, 그 사이 상담이 재시도/완료되어 결과를 버렸으면 false
+     */
+    public boolean processAiAnalysis(Long counselId, PendingAnalysis pending) throws Exception {
+        CounselDto.CounselCreateRequest request = pending.request();
+        AiAnalysisResultCache.CachedAnalysis result = analysisResultCache.get(request.chat(), request.date(), () -> {
+            String aiResponseJson = aiAnalysisBatcher.analyze(request.chat(), request.date());
+            log.info("AI 응답 수신 완료: {}", aiResponseJson);
+            CounselSummaryParser.ParsedSummary parsed = summaryParser.parse(aiResponseJson);
+            return new AiAnalysisResultCache.CachedAnalysis(aiResponseJson, parsed.category(), parsed.preview());
+        });
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        boolean applied = updateStatusInTransaction(counselId, CounselStatus.COMPLETED, result, pending.version());
 
-            HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
+        if (applied) log.info("AI 분석 성공 (CounselId: {})", counselId);
+        return applied;
+    }
 
-            log.info("AI 서버({})로 분석 요청 전송 (Timeout: 120s)", aiServerUrl);
+    /**
+     * 같은 상담 내용의 분석 결과가 캐시에 있으면 작업 대기열을 기다리지 않고 바로 완료 처리한다.
+     * 대기열의 작업은 상담이 더 이상 PENDING이 아니므로 AI 호출 없이 종료된다.
+     */
+    public boolean completeFromCacheIfPresent(Long counselId, CounselDto.CounselCreateRequest request) {
+        return analysisResultCache.getIfCompleted(request.chat(), request.date())
+                .map(result -> {
+                    log.info("AI 분석 캐시 적중 (CounselId: {})", counselId);
+                    return updateStatusInTransaction(counselId, CounselStatus.COMPLETED, result, null);
+                })
+                .orElse(false);
+    }
 
-            String aiResponseJson = restTemplate.postForObject(aiServerUrl, entity, String.class);
-            log.info("AI 응답 수신 완료: {}", aiResponseJson);
+    /**
+     * AI 서버 서킷이 열려 있으면 방금 등록한 상담을 바로 FAILED로 전환하고 503으로 응답한다.
+     */
+    public void failFastIfAiUnavailable(Long counselId) {
+        if (!aiServerGuard.isCircuitOpen()) return;
 
-            CounselCategory category = extractCategory(aiResponseJson);
-            updateStatusInTransaction(counselId, CounselStatus.COMPLETED, aiResponseJson, category);
+        failAiAnalysis(counselId);
+        throw new AiServerUnavailableException(AiServerUnavailableException.Reason.CIRCUIT_OPEN);
+    }
 
-            log.info("AI 분석 성공 (CounselId: {})", counselId);
+    public void failAiAnalysis(Long counselId) {
+        failAiAnalysis(counselId, null);
+    }
 
-        } catch (RestClientResponseException e) {
-            log.error("AI 서버 통신 에러 (Code: {}): {}", e.getStatusCode(), e.getResponseBodyAsString());
-            updateStatusInTransaction(counselId, CounselStatus.FAILED, null, null);
-        } catch (Exception e) {
-            log.error("AI 분석 중 예상치 못한 에러: ", e);
-            updateStatusInTransaction(counselId, CounselStatus.FAILED, null, null);
-        }
+    /**
+     * @param expectedVersion 분석을 시작할 때 읽은 버전. null이면 PENDING인 상담을 버전과 상관없이 실패 처리한다.
+     */
+    public void failAiAnalysis(Long counselId, Long expectedVersion) {
+        log.warn("AI 분석 실패 처리 (CounselId: {})", counselId);
+        updateStatusInTransaction(counselId, CounselStatus.FAILED, null, expectedVersion);
     }
 
     public CounselDto.QuestionResponse question(Long userId, Long counselId, String question){
-        CounselEntity counsel = counselRepository.findById(counselId)
-                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.COUNSEL_NOT_FOUND));
-
-        if(!counsel.getUser().getId().equals(userId)){
-            throw new AccessDeniedException(ErrorMessages.FORBIDDEN);
+        CounselEntity counsel = findOwnedCounsel(userId, counselId);
+
+        // 이미 답변한 질문이면 추가 질문 이력에 다시 넣지 않고 바로 돌려준다.
+        Optional<String> cached = answerCache.get(counselId, question);
+        if (cached.isPresent()) {
+            return CounselDto.QuestionResponse.builder()
+                    .question(question)
+                    .answer(cached.get())
+                    .build();
         }
+        CounselAnswerCache.Answers answers = answerCache.answersOf(counselId);
 
-        String aiAnswer = "";
+        String aiAnswer;
 
         try{
-            SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-            factory.setConnectTimeout(5000);
-            factory.setReadTimeout(60000);
-            factory.setBufferRequestBody(true);
+            String rawResponse = aiServerClient.ask(summaryWithQuestions(counsel), question);
+            aiAnswer = aiServerClient.parseAnswer(rawResponse);
+            log.info("AI 답변 수신 완료: {}", aiAnswer);
 
-            RestTemplate localRestTemplate = new RestTemplate(factory);
-            localRestTemplate.getMessageConverters().add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+            appendQuestion(counselId, question, aiAnswer);
+            answers.put(question, aiAnswer);
+        } catch (AiServerUnavailableException e){
+            throw e;
+        } catch (Exception e){
+            log.error("질문 처리 실패: {}", e.getMessage());
+            throw new RuntimeException(ErrorMessages.COUNSEL_QUESTION_FAIL);
+        }
 
-            Map<String, Object> aiRequestMap = new HashMap<>();
-            aiRequestMap.put("question", question);
-            JsonNode contextNode = objectMapper.readTree(counsel.getSummaryJson());
-            aiRequestMap.put("summary", contextNode);
+        return CounselDto.QuestionResponse.builder()
+                .question(question)
+                .answer(aiAnswer)
+                .build();
+    }
 
-            String jsonBody = objectMapper.writeValueAsString(aiRequestMap);
+    /**
+     * AI 서버의 답변 청크를 도착하는 대로 SSE(ANSWER_CHUNK)로 전달한다.
+     * 스트림이 끝나면 전체 답변을 counsel_question에 추가하고 ANSWER_COMPLETED를 보낸다.
+     */
+    public SseEmitter streamQuestion(Long userId, Long counselId, String question) {
+        CounselEntity counsel = findOwnedCounsel(userId, counselId);
+        String summaryJson = summaryWithQuestions(counsel);
+
+        SseEmitter emitter = sseEmitterService.createAnswerStream();
+
+        Optional<String> cached = answerCache.get(counselId, question);
+        if (cached.isPresent()) {
+            sseEmitterService.sendAnswerChunk(emitter, cached.get());
+            sseEmitterService.completeAnswer(emitter, CounselDto.QuestionResponse.builder()
+                    .question(question)
+                    .answer(cached.get())
+                    .build());
+            return emitter;
+        }
+        CounselAnswerCache.Answers answers = answerCache.answersOf(counselId);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        // 클라이언트가 끊거나 타임아웃되면 AI 서버 스트림도 끊는다. 정상 완료 뒤의 취소는 아무 일도 하지 않는다.
+        AiStreamCancellation cancellation = new AiStreamCancellation();
+        emitter.onCompletion(cancellation::cancel);
+        emitter.onTimeout(cancellation::cancel);
+        emitter.onError(e -> cancellation.cancel());
 
-            HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
+        try {
+            aiQuestionExecutor.execute(() -> {
+                try {
+                    String answer = aiServerClient.askStream(summaryJson, question, chunk -> {
+                        if (!sseEmitterService.sendAnswerChunk(emitter, chunk)) {
+                            cancellation.cancel();
+                        }
+                    }, cancellation);
+                    log.info("AI 스트리밍 답변 수신 완료 (CounselId: {})", counselId);
+
+                    appendQuestion(counselId, question, answer);
+                    answers.put(question, answer);
+
+                    sseEmitterService.completeAnswer(emitter, CounselDto.QuestionResponse.builder()
+                            .question(question)
+                            .answer(answer)
+                            .build());
+                } catch (CancellationException e) {
+                    // 받을 클라이언트가 없으므로 저장하지 않고 끝낸다.
+                    log.info("클라이언트 연결 종료로 AI 스트리밍 답변을 중단합니다 (CounselId: {})", counselId);
+                } catch (AiServerUnavailableException e) {
+                    sseEmitterService.failAnswer(emitter, e.getMessage());
+                } catch (Exception e) {
+                    log.error("스트리밍 질문 처리 실패: {}", e.getMessage());
+                    sseEmitterService.failAnswer(emitter, ErrorMessages.COUNSEL_QUESTION_FAIL);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            sseEmitterService.failAnswer(emitter, ErrorMessages.AI_ANALYSIS_BUSY);
+        }
 
-            log.info("AI 서버로 추가 질문 전송중 (Timeout: 60s)");
+        return emitter;
+    }
 
-            String rawResponse = localRestTemplate.postForObject(aiServerUrl + "/question", entity, String.class);
+    /**
+     * 제목/대화/AI 요약에서 검색어를 찾아 관련도 순으로 돌려준다. 커서는 (점수, 상담 id)이다.
+     */
+    @Transactional(readOnly = true)
+    public CounselDto.CounselSearchResponse searchCounsels(Long userId, String query, Long cursorScore, Long cursorId, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException(ErrorMessages.SEARCH_QUERY_REQUIRED);
+        }
 
-            if(rawResponse != null) {
-                if (rawResponse.startsWith("\"") && rawResponse.endsWith("\"")) {
-                    aiAnswer = rawResponse.substring(1, rawResponse.length() - 1)
-                            .replace("\\\"", "\"")
-                            .replace("\\n", "\n");
-                } else {
-                    aiAnswer = rawResponse;
-                }
-            }
-            log.info("AI 답변 수신 완료: {}", aiAnswer);
-            final String finalAnswer = aiAnswer;
-
-            transactionTemplate.execute(status -> {
-                CounselEntity targetCounsel = counselRepository.findById(counselId)
-                        .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.COUNSEL_NOT_FOUND));
-                try{
-                    updateSummaryJson(targetCounsel, question, finalAnswer);
-                }catch (JsonProcessingException e){
-                    throw new RuntimeException("JSON 파싱 에러", e);
-                }
-                return null;
-            });
-        } catch (Exception e){
-            log.error("질문 처리 실패: {}", e.getMessage());
-            throw new RuntimeException(ErrorMessages.COUNSEL_QUESTION_FAIL);
+        List<CounselSearchIndexer.Hit> hits = searchIndexer.search(userId, query, cursorScore, cursorId, size + 1);
+        boolean hasNext = hits.size() > size;
+        if (hasNext) {
+            hits = hits.subList(0, size);
+        }
+        if (hits.isEmpty()) {
+            return CounselDto.CounselSearchResponse.builder().content(List.of()).hasNext(false).build();
         }
 
-        return CounselDto.QuestionResponse.builder()
-                .question(question)
-                .answer(aiAnswer)
+        Map<Long, CounselListView> views = counselRepository.findListViewsByUserIdAndIdIn(userId,
+                        hits.stream().map(CounselSearchIndexer.Hit::counselId).toList()).stream()
+                .collect(Collectors.toMap(CounselListView::id, Function.identity()));
+
+        List<CounselDto.CounselListResponse> content = hits.stream()
+                .map(hit -> views.get(hit.counselId()))
+                .filter(Objects::nonNull)
+                .map(CounselDto.CounselListResponse::from)
+                .toList();
+
+        CounselSearchIndexer.Hit last = hits.get(hits.size() - 1);
+        return CounselDto.CounselSearchResponse.builder()
+                .content(content)
+                .hasNext(hasNext)
+                .nextCursorScore(last.score())
+                .nextCursorId(last.counselId())
                 .build();
     }
 
     @Transactional(readOnly = true)
-    public CounselDto.CounselCursorResponse getCounselList(Long userId, Long cursorId, int size) {
-        Pageable pageable = PageRequest.of(0, size);
-        List<CounselEntity> counsels;
-
-        if (cursorId == null) {
-            counsels = counselRepository.findAllByUserIdOrderByIdDesc(userId, pageable);
-        } else {
-            counsels = counselRepository.findByUserIdAndIdLessThan(userId, cursorId, pageable);
+    public CounselDto.CounselCursorResponse getCounselList(Long userId, CounselDto.CounselListFilter filter, Long cursorId,
+                                                           LocalDate cursorDate, CounselDto.CounselListSort sort, int size) {
+        if (filter.dateFrom() != null && filter.dateTo() != null && filter.dateFrom().isAfter(filter.dateTo())) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_DATE_RANGE);
+        }
+        boolean byCounselDate = sort == CounselDto.CounselListSort.COUNSEL_DATE;
+        if (byCounselDate && (cursorId == null) != (cursorDate == null)) {
+            // 한쪽만 오면 조용히 첫 페이지를 돌려주게 되므로 거부한다.
+            throw new IllegalArgumentException(ErrorMessages.INVALID_CURSOR);
+        }
+
+        // 한 건 더 읽어서 다음 페이지 존재 여부를 판단한다.
+        List<CounselListView> counsels = counselRepository.findListViews(CounselListQuery.builder()
+                .userId(userId)
+                .category(filter.category())
+                .status(filter.status())
+                .dateFrom(filter.dateFrom())
+                .dateTo(filter.dateTo())
+                .byCounselDate(byCounselDate)
+                .cursorId(cursorId)
+                .cursorDate(cursorDate)
+                .limit(size + 1)
+                .build());
+
+        boolean hasNext = counsels.size() > size;
+        if (hasNext) {
+            counsels = counsels.subList(0, size);
         }
 
         Long nextCursorId = null;
-        boolean hasNext = false;
+        String nextCursorDate = null;
 
         if (!counsels.isEmpty()) {
-            CounselEntity lastCounsel = counsels.get(counsels.size() - 1);
-            nextCursorId = lastCounsel.getId();
-            hasNext = counsels.size() == size;
+            CounselListView lastCounsel = counsels.get(counsels.size() - 1);
+            nextCursorId = lastCounsel.id();
+            if (byCounselDate) nextCursorDate = lastCounsel.counselDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
         }
 
         List<CounselDto.CounselListResponse> counselDtos = counsels.stream()
@@ -248,6 +399,7 @@ public class CounselService {
                 .content(counselDtos)
                 .hasNext(hasNext)
                 .nextCursorId(nextCursorId)
+                .nextCursorDate(nextCursorDate)
                 .build();
     }
 
@@ -259,89 +411,131 @@ public class CounselService {
         if (!counsel.getUser().getId().equals(userId)) {
             throw new AccessDeniedException(ErrorMessages.FORBIDDEN);
         }
-        return CounselDto.CounselDetailResponse.from(counsel);
+        return CounselDto.CounselDetailResponse.from(counsel, summaryWithQuestions(counsel));
     }
 
-    private void updateSummaryJson(CounselEntity counsel, String question, String answer) throws JsonProcessingException{
-        JsonNode rootNode = objectMapper.readTree(counsel.getSummaryJson());
-        JsonNode resultNode = rootNode.path("data");
+    private CounselEntity findOwnedCounsel(Long userId, Long counselId) {
+        CounselEntity counsel = counselRepository.findById(counselId)
+                .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.COUNSEL_NOT_FOUND));
 
-        JsonNode summaryRaw = resultNode.path("summary");
-        if(summaryRaw.isMissingNode()){
-            summaryRaw = resultNode;
+        if(!counsel.getUser().getId().equals(userId)){
+            throw new AccessDeniedException(ErrorMessages.FORBIDDEN);
         }
+        return counsel;
+    }
 
-        if(!summaryRaw.isObject()){
-            throw new IllegalArgumentException(ErrorMessages.COUNSEL_SUMMARY_FAIL);
-        }
+    /**
+     * 질문과 답변을 counsel_question에 한 행으로 추가한다. summary_json은 건드리지 않는다.
+     */
+    private void appendQuestion(Long counselId, String question, String answer) {
+        counselQuestionRepository.save(
+                new CounselQuestionEntity(counselRepository.getReferenceById(counselId), question, answer));
+    }
 
-        ObjectNode summaryNode = (ObjectNode) summaryRaw;
-        ArrayNode array;
+    /**
+     * counsel_question의 질문/답변을 summary_json의 additional_questions 뒤에 이어 붙인 문서를 만든다.
+     * 추가 질문이 없으면 summary_json을 그대로 반환한다.
+     */
+    private String withAdditionalQuestions(String summaryJson, List<CounselQuestionEntity> questions) {
+        if (questions.isEmpty() || summaryJson == null || summaryJson.isBlank()) return summaryJson;
 
-        if(summaryNode.has("additional_questions")){
-            JsonNode existingNode = summaryNode.get("additional_questions");
-            if(existingNode.isArray()){
-                array = (ArrayNode) existingNode;
-            }else{
-                array = summaryNode.putArray("additional_questions");
+        try {
+            JsonNode rootNode = objectMapper.readTree(summaryJson);
+            JsonNode resultNode = rootNode.path("data");
+
+            JsonNode summaryRaw = resultNode.path("summary");
+            if (summaryRaw.isMissingNode()) {
+                summaryRaw = resultNode;
             }
-        }
-        else{
-            array = summaryNode.putArray("additional_questions");
-        }
 
-        ObjectNode newQa = objectMapper.createObjectNode();
-        newQa.put("question", question);
-        newQa.put("answer", answer);
+            if (!summaryRaw.isObject()) {
+                log.warn("추가 질문을 합칠 수 없는 요약 구조입니다.");
+                return summaryJson;
+            }
 
-        array.add(newQa);
+            ObjectNode summaryNode = (ObjectNode) summaryRaw;
+            JsonNode existingNode = summaryNode.get("additional_questions");
+            ArrayNode array = existingNode != null && existingNode.isArray()
+                    ? (ArrayNode) existingNode
+                    : summaryNode.putArray("additional_questions");
+
+            for (CounselQuestionEntity question : questions) {
+                array.addObject()
+                        .put("question", question.getQuestion())
+                        .put("answer", question.getAnswer());
+            }
+            return objectMapper.writeValueAsString(rootNode);
+        } catch (JsonProcessingException e) {
+            log.warn("요약 JSON 파싱 실패로 추가 질문을 합치지 못했습니다: {}", e.getMessage());
+            return summaryJson;
+        }
+    }
 
-        String updatedJson = objectMapper.writeValueAsString(rootNode);
-        counsel.completeAnalysis(updatedJson);
-        log.info("CounselEntity 요약 JSON 업데이트 완료");
+    private String summaryWithQuestions(CounselEntity counsel) {
+        return withAdditionalQuestions(counsel.getSummaryJson(),
+                counselQuestionRepository.findAllByCounselIdOrderByIdAsc(counsel.getId()));
     }
 
     private record StatusChangedEvent(Long userId, Long counselId, CounselStatus status) {}
 
-    private void updateStatusInTransaction(Long counselId, CounselStatus nextStatus, String json, CounselCategory category) {
-        StatusChangedEvent event = transactionTemplate.execute(action -> {
+    /**
+     * 분석 결과(summary_json)와 함께 미리 파싱해 둔 카테고리, 목록 미리보기를 저장한다. 실패 시 result는 null이다.
+     * 상담이 더 이상 expectedVersion의 PENDING 상태가 아니면 (재시도되었거나 다른 결과가 먼저 저장됨) 아무것도 바꾸지 않는다.
+     * @return 상태를 바꿨으면 true
+     */
+    private boolean updateStatusInTransaction(Long counselId, CounselStatus nextStatus,
+                                              AiAnalysisResultCache.CachedAnalysis result, Long expectedVersion) {
+        StatusChangedEvent event = withOptimisticRetry(counselId, () -> transactionTemplate.execute(action -> {
             CounselEntity counsel = counselRepository.findById(counselId)
                     .orElseThrow(() -> new EntityNotFoundException(ErrorMessages.COUNSEL_NOT_FOUND));
 
-            if (nextStatus == CounselStatus.COMPLETED) counsel.completeAnalysis(json, category);
+            if (!counsel.isAnalysisPending(expectedVersion)) {
+                log.info("상담 상태가 이미 바뀌어 {} 처리를 건너뜁니다. (CounselId: {}, Status: {}, Version: {} -> {})",
+                        nextStatus, counselId, counsel.getStatus(), expectedVersion, counsel.getVersion());
+                return null;
+            }
+
+            if (nextStatus == CounselStatus.COMPLETED) counsel.completeAnalysis(result.summaryJson(), result.category(), result.summaryPreview());
             else counsel.failAnalysis();
 
             counselRepository.save(counsel);
             counselRepository.flush();
+            if (nextStatus == CounselStatus.COMPLETED) {
+                searchIndexer.index(counsel);
+                statService.onCompleted(counsel);
+            } else {
+                statService.onFailed(counsel);
+            }
 
             return new StatusChangedEvent(
                     counsel.getUser().getId(),
                     counsel.getId(),
                     counsel.getStatus()
             );
-        });
-
-        if (event != null) {
-            sseEmitterService.sendStatusChanged(event.userId(), event.counselId(), event.status());
-        }
-    }
+        }));
 
-    private CounselCategory extractCategory(String jsonString) throws JsonProcessingException {
-        JsonNode root = objectMapper.readTree(jsonString);
-        JsonNode dataNode = root.path("data");
-        JsonNode categoryNode = dataNode.path("summary").path("category");
+        if (event == null) return false;
 
-        if (categoryNode.isMissingNode() || categoryNode.isNull()) {
-            categoryNode = dataNode.path("category");
-        }
-
-        String category = categoryNode.asText();
+        // 분석 결과가 바뀌었으므로 이전 요약으로 받은 답변은 더 이상 쓰지 않는다.
+        answerCache.invalidate(counselId);
+        sseEmitterService.sendStatusChanged(event.userId(), event.counselId(), event.status());
+        return true;
+    }
 
-        if(category == null || category.isBlank()){
-            log.error("JSON 구조에서 카테고리를 찾을 수 없음: {}", jsonString);
-            throw new IllegalArgumentException(ErrorMessages.CATRGORY_NOT_FOUND);
+    /**
+     * 낙관적 락 충돌이 나면 최대 optimisticRetryMaxAttempts번까지 다시 실행한다. 매번 새 트랜잭션에서 상담을 다시 읽는다.
+     */
+    private <T> T withOptimisticRetry(Long counselId, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= optimisticRetryMaxAttempts) {
+                    log.warn("상담 상태 변경 충돌 재시도 초과 (CounselId: {}, Attempts: {})", counselId, attempt);
+                    throw e;
+                }
+                log.info("상담 상태 변경 충돌, 다시 시도합니다. (CounselId: {}, Attempt: {})", counselId, attempt);
+            }
         }
-
-        return CounselCategory.from(category);
     }
 }
\ No newline at end of file
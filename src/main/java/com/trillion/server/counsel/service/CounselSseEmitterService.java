@@ -14,6 +14,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class CounselSseEmitterService {
 
     private static final long TIMEOUT = 60L * 60 * 1000; // 1시간
+    private static final long ANSWER_TIMEOUT = 5L * 60 * 1000; // 5분
     private final Map<Long, List<SseEmitter>> emittersByUserId = new ConcurrentHashMap<>();
 
     public SseEmitter connect(Long userId) {
@@ -61,6 +62,59 @@ public class CounselSseEmitterService {
         emitters.removeAll(dead);
     }
 
+    public SseEmitter createAnswerStream() {
+        return new SseEmitter(ANSWER_TIMEOUT);
+    }
+
+    /**
+     * @return 클라이언트가 연결을 끊었으면 false
+     */
+    public boolean sendAnswerChunk(SseEmitter emitter, String chunk) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("ANSWER_CHUNK")
+                    .data(chunk)
+            );
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    public void completeAnswer(SseEmitter emitter, Object payload) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("ANSWER_COMPLETED")
+                    .data(payload)
+            );
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * 스트림을 열기 전에 요청이 거부된 경우에 쓴다. text/event-stream만 받는 클라이언트도 읽을 수 있도록
+     * JSON 에러 응답 대신 ANSWER_FAILED 이벤트 하나를 담아 바로 닫는다.
+     */
+    public SseEmitter rejectedAnswerStream(String message) {
+        SseEmitter emitter = createAnswerStream();
+        failAnswer(emitter, message);
+        return emitter;
+    }
+
+    public void failAnswer(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("ANSWER_FAILED")
+                    .data(Map.of("message", message))
+            );
+            emitter.complete();
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+    }
+
     private void remove(Long userId, SseEmitter emitter) {
         List<SseEmitter> list = emittersByUserId.get(userId);
         if (list == null) return;
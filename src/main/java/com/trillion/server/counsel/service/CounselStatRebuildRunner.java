@@ -0,0 +1,49 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.repository.CounselRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 상담 통계 카운터(counsel_stat)를 모든 사용자에 대해 처음부터 다시 계산한다. (도입 시 초기화, 카운터가 어긋났을 때 복구)
+ * counsel.stat.rebuild.enabled=true로 한 번 기동하면 된다. 사용자 단위로 커밋하므로 중단돼도 다시 실행하면 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "counsel.stat.rebuild.enabled", havingValue = "true")
+public class CounselStatRebuildRunner implements ApplicationRunner {
+
+    private final CounselRepository counselRepository;
+    private final CounselStatService statService;
+
+    @Value("${counsel.stat.rebuild.page-size:500}")
+    private int pageSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long afterUserId = 0;
+        int users = 0;
+
+        while (true) {
+            List<Long> userIds = counselRepository.findUserIdsAfter(afterUserId, PageRequest.of(0, pageSize));
+            if (userIds.isEmpty()) break;
+
+            for (Long userId : userIds) {
+                statService.rebuild(userId);
+            }
+            users += userIds.size();
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("상담 통계 재계산 완료 ({}명)", users);
+    }
+}
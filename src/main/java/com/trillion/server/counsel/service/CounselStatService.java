@@ -0,0 +1,185 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.entity.CounselCategory;
+import com.trillion.server.counsel.entity.CounselEntity;
+import com.trillion.server.counsel.entity.CounselStatEntity.Dimension;
+import com.trillion.server.counsel.entity.CounselStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 상담 통계(카테고리/상태별 건수, 상담 날짜 기준 월별 건수, 평균 분석 소요 시간)를 counsel_stat 카운터로 관리한다.
+ * 상담 상태 전이와 같은 트랜잭션에서 증감하므로 조회 시 counsel 테이블을 집계하지 않는다.
+ * 카운터가 어긋나면 rebuild로 counsel 테이블에서 다시 계산한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounselStatService {
+
+    static final String ALL = "ALL";
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private static final String UPSERT_SQL = "INSERT INTO counsel_stat (user_id, dimension, bucket, item_count, total_value) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE item_count = item_count + VALUES(item_count), total_value = total_value + VALUES(total_value)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Delta(Dimension dimension, String bucket, long count, long total) {}
+
+    public void onCreated(CounselEntity counsel) {
+        apply(counsel.getUser().getId(), List.of(
+                new Delta(Dimension.STATUS, CounselStatus.PENDING.name(), 1, 0),
+                new Delta(Dimension.MONTH, month(counsel.getCounselDate()), 1, 0)));
+    }
+
+    /**
+     * 대량 가져오기로 저장한 한 묶음(같은 사용자)을 한 번에 반영한다.
+     */
+    public void onImported(Long userId, List<CounselEntity> counsels) {
+        Map<String, Delta> deltas = new HashMap<>();
+        for (CounselEntity counsel : counsels) {
+            accumulate(deltas, Dimension.STATUS, counsel.getStatus().name(), 0);
+            accumulate(deltas, Dimension.MONTH, month(counsel.getCounselDate()), 0);
+        }
+        apply(userId, new ArrayList<>(deltas.values()));
+    }
+
+    /**
+     * @param previousDate   재시도 요청으로 바뀌기 전 상담 날짜
+     * @param previousStatus 재시도 전 상태 (FAILED 또는 IMPORTED)
+     */
+    public void onRetried(CounselEntity counsel, LocalDate previousDate, CounselStatus previousStatus) {
+        List<Delta> deltas = new ArrayList<>(List.of(
+                new Delta(Dimension.STATUS, previousStatus.name(), -1, 0),
+                new Delta(Dimension.STATUS, CounselStatus.PENDING.name(), 1, 0)));
+        if (!month(previousDate).equals(month(counsel.getCounselDate()))) {
+            deltas.add(new Delta(Dimension.MONTH, month(previousDate), -1, 0));
+            deltas.add(new Delta(Dimension.MONTH, month(counsel.getCounselDate()), 1, 0));
+        }
+        apply(counsel.getUser().getId(), deltas);
+    }
+
+    public void onCompleted(CounselEntity counsel) {
+        List<Delta> deltas = new ArrayList<>(List.of(
+                new Delta(Dimension.STATUS, CounselStatus.PENDING.name(), -1, 0),
+                new Delta(Dimension.STATUS, CounselStatus.COMPLETED.name(), 1, 0)));
+        if (counsel.getCategory() != null) {
+            deltas.add(new Delta(Dimension.CATEGORY, counsel.getCategory().name(), 1, 0));
+        }
+        Duration turnaround = counsel.analysisTurnaround();
+        if (turnaround != null) {
+            deltas.add(new Delta(Dimension.TURNAROUND, ALL, 1, turnaround.toMillis()));
+        }
+        apply(counsel.getUser().getId(), deltas);
+    }
+
+    public void onFailed(CounselEntity counsel) {
+        apply(counsel.getUser().getId(), List.of(
+                new Delta(Dimension.STATUS, CounselStatus.PENDING.name(), -1, 0),
+                new Delta(Dimension.STATUS, CounselStatus.FAILED.name(), 1, 0)));
+    }
+
+    @Transactional(readOnly = true)
+    public CounselDto.CounselStatsResponse getStats(Long userId) {
+        Map<CounselCategory, Long> byCategory = new EnumMap<>(CounselCategory.class);
+        Map<CounselStatus, Long> byStatus = new EnumMap<>(CounselStatus.class);
+        List<CounselDto.MonthlyCount> monthly = new ArrayList<>();
+        long[] turnaround = new long[2];
+
+        jdbcTemplate.query("SELECT dimension, bucket, item_count, total_value FROM counsel_stat WHERE user_id = ?", rs -> {
+            long count = rs.getLong("item_count");
+            if (count <= 0) return;
+
+            String bucket = rs.getString("bucket");
+            switch (Dimension.valueOf(rs.getString("dimension"))) {
+                case CATEGORY -> byCategory.put(CounselCategory.valueOf(bucket), count);
+                case STATUS -> byStatus.put(CounselStatus.valueOf(bucket), count);
+                case MONTH -> monthly.add(new CounselDto.MonthlyCount(bucket, count));
+                case TURNAROUND -> {
+                    turnaround[0] = count;
+                    turnaround[1] = rs.getLong("total_value");
+                }
+            }
+        }, userId);
+
+        monthly.sort(Comparator.comparing(CounselDto.MonthlyCount::month));
+        Map<String, Long> categoryCounts = new LinkedHashMap<>();
+        byCategory.forEach((category, count) -> categoryCounts.put(category.getDescription(), count));
+
+        return CounselDto.CounselStatsResponse.builder()
+                .total(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .byStatus(byStatus)
+                .byCategory(categoryCounts)
+                .monthly(monthly)
+                .averageTurnaroundSeconds(turnaround[0] > 0 ? turnaround[1] / 1000.0 / turnaround[0] : null)
+                .build();
+    }
+
+    /**
+     * 사용자의 카운터를 counsel 테이블에서 처음부터 다시 계산한다. (복구용)
+     * 집계 중에 커밋된 상태 전이는 반영되지 않을 수 있으므로 트래픽이 적을 때 실행한다.
+     */
+    @Transactional
+    public void rebuild(Long userId) {
+        Map<String, Delta> deltas = new HashMap<>();
+
+        jdbcTemplate.query("SELECT status, category, counsel_date, analysis_requested_at, analysis_completed_at " +
+                "FROM counsel WHERE user_id = ?", rs -> {
+            accumulate(deltas, Dimension.STATUS, rs.getString("status"), 0);
+            accumulate(deltas, Dimension.MONTH, month(rs.getDate("counsel_date").toLocalDate()), 0);
+
+            if (CounselStatus.COMPLETED.name().equals(rs.getString("status"))) {
+                String category = rs.getString("category");
+                if (category != null) accumulate(deltas, Dimension.CATEGORY, category, 0);
+
+                Timestamp requestedAt = rs.getTimestamp("analysis_requested_at");
+                Timestamp completedAt = rs.getTimestamp("analysis_completed_at");
+                if (requestedAt != null && completedAt != null) {
+                    accumulate(deltas, Dimension.TURNAROUND, ALL, completedAt.getTime() - requestedAt.getTime());
+                }
+            }
+        }, userId);
+
+        jdbcTemplate.update("DELETE FROM counsel_stat WHERE user_id = ?", userId);
+        apply(userId, new ArrayList<>(deltas.values()));
+        log.debug("상담 통계 재계산 (UserId: {}, Rows: {})", userId, deltas.size());
+    }
+
+    private static void accumulate(Map<String, Delta> deltas, Dimension dimension, String bucket, long total) {
+        deltas.merge(dimension + ":" + bucket, new Delta(dimension, bucket, 1, total),
+                (a, b) -> new Delta(dimension, bucket, a.count() + b.count(), a.total() + b.total()));
+    }
+
+    /**
+     * 같은 사용자의 전이가 동시에 일어나도 교착되지 않도록 항상 같은 순서로 행을 잠근다.
+     */
+    private void apply(Long userId, List<Delta> deltas) {
+        List<Object[]> rows = deltas.stream()
+                .sorted(Comparator.comparing(Delta::dimension).thenComparing(Delta::bucket))
+                .map(delta -> new Object[]{userId, delta.dimension().name(), delta.bucket(), delta.count(), delta.total()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    private static String month(LocalDate date) {
+        return date.format(MONTH_FORMATTER);
+    }
+}
@@ -0,0 +1,92 @@
+package com.trillion.server.counsel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.common.exception.ErrorMessages;
+import com.trillion.server.counsel.entity.CounselCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 분석 결과(summary_json)를 한 번만 파싱해 카테고리와 목록 미리보기(마크업을 제거한 상담 제목)를 뽑는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CounselSummaryParser {
+
+    static final String NO_SUMMARY = "요약 정보 없음";
+    static final String NO_TITLE = "요약 내용 없음";
+    static final String UNREADABLE = "요약 정보를 불러올 수 없음";
+
+    private static final String MARKUP_OPEN = "{{";
+    private static final String MARKUP_SEPARATOR = "::";
+    private static final String MARKUP_CLOSE = "}}";
+
+    private final ObjectMapper objectMapper;
+
+    public record ParsedSummary(CounselCategory category, String preview) {}
+
+    /**
+     * @throws IllegalArgumentException 카테고리를 찾을 수 없는 경우
+     */
+    public ParsedSummary parse(String summaryJson) throws JsonProcessingException {
+        JsonNode dataNode = objectMapper.readTree(summaryJson).path("data");
+        return new ParsedSummary(category(dataNode, summaryJson), preview(dataNode));
+    }
+
+    /**
+     * 카테고리 없이 미리보기만 필요할 때 사용한다. (백필)
+     */
+    public String previewOf(String summaryJson) {
+        if (summaryJson == null || summaryJson.isBlank()) return NO_SUMMARY;
+        try {
+            return preview(objectMapper.readTree(summaryJson).path("data"));
+        } catch (Exception e) {
+            return UNREADABLE;
+        }
+    }
+
+    private CounselCategory category(JsonNode dataNode, String summaryJson) {
+        JsonNode categoryNode = dataNode.path("summary").path("category");
+        if (categoryNode.isMissingNode() || categoryNode.isNull()) {
+            categoryNode = dataNode.path("category");
+        }
+
+        String category = categoryNode.asText();
+        if (category == null || category.isBlank()) {
+            log.error("JSON 구조에서 카테고리를 찾을 수 없음: {}", summaryJson);
+            throw new IllegalArgumentException(ErrorMessages.CATRGORY_NOT_FOUND);
+        }
+        return CounselCategory.from(category);
+    }
+
+    private String preview(JsonNode dataNode) {
+        JsonNode titleNode = dataNode.path("summary").path("counsel_title");
+        if (titleNode.isMissingNode()) return NO_TITLE;
+        return stripMarkup(titleNode.asText());
+    }
+
+    /**
+     * {{표시 텍스트::태그}} 마크업을 표시 텍스트만 남기고 제거한다. 닫히지 않은 마크업은 그대로 둔다.
+     */
+    static String stripMarkup(String text) {
+        int open = text.indexOf(MARKUP_OPEN);
+        if (open < 0) return text;
+
+        StringBuilder sb = new StringBuilder(text.length());
+        int from = 0;
+        while (open >= 0) {
+            int separator = text.indexOf(MARKUP_SEPARATOR, open + MARKUP_OPEN.length());
+            int close = separator < 0 ? -1 : text.indexOf(MARKUP_CLOSE, separator + MARKUP_SEPARATOR.length());
+            if (close < 0) break;
+
+            sb.append(text, from, open).append(text, open + MARKUP_OPEN.length(), separator);
+            from = close + MARKUP_CLOSE.length();
+            open = text.indexOf(MARKUP_OPEN, from);
+        }
+        return sb.append(text, from, text.length()).toString();
+    }
+}
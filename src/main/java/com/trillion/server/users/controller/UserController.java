@@ -1,6 +1,7 @@
 package com.trillion.server.users.controller;
 
-import com.trillion.server.common.exception.ErrorMessages;
+import com.trillion.server.auth.resolver.AuthUser;
+import com.trillion.server.auth.resolver.CurrentUser;
 import com.trillion.server.common.exception.SuccessMessages;
 import com.trillion.server.common.exception.SuccessResponse;
 import com.trillion.server.users.dto.UserDto;
@@ -9,8 +10,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.trillion.server.users.entity.UserEntity;
-import com.trillion.server.common.util.JwtUtil;
 import com.trillion.server.users.service.UserService;
+import com.trillion.server.auth.service.AuthService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,7 +28,7 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 
     private final UserService userService;
-    private final JwtUtil jwtUtil;
+    private final AuthService authService;
 
     @Operation(summary = "내 정보 조회", description = "현재 로그인한 사용자의 정보를 조회")
     @ApiResponses(value = {
@@ -42,13 +43,10 @@ public class UserController {
 
     @GetMapping("/member/profile")
     public ResponseEntity<SuccessResponse<UserDto.UserProfileResponse>> getCurrentUser(
-            @CookieValue(value = "accessToken", required = false) String accessToken) {
+            @CurrentUser AuthUser authUser) {
 
-        validateToken(accessToken);
+        UserEntity user = authUser.getUser();
 
-        Long userId = jwtUtil.extractUserId(accessToken);
-        UserEntity user = userService.getCurrentUser(userId);
-        
         return ResponseEntity.ok(SuccessResponse.of(
                 SuccessMessages.USER_PROFILE_LOOKUP_SUCCESS,
                 UserDto.UserProfileResponse.from(user)
@@ -57,13 +55,9 @@ public class UserController {
 
     @PostMapping("/auth/logincheck")
     public ResponseEntity<SuccessResponse<Void>> signUp(
-            @CookieValue(value = "accessToken", required = false) String accessToken) {
+            @CurrentUser AuthUser authUser) {
 
-        validateToken(accessToken);
-
-        Long userId = jwtUtil.extractUserId(accessToken);
-
-        userService.signUpUser(userId);
+        userService.signUpUser(authUser.getUserId());
 
         return ResponseEntity.ok(SuccessResponse.of(SuccessMessages.SIGNUP_SUCCESS));
     }
@@ -77,12 +71,10 @@ public class UserController {
 
     @PostMapping("/member/withdraw")
     public ResponseEntity<SuccessResponse<Void>> memberWithdraw(
-            @CookieValue(value = "accessToken", required = false) String accessToken, HttpServletResponse response){
-
-        validateToken(accessToken);
-        Long userId = jwtUtil.extractUserId(accessToken);
+            @CurrentUser AuthUser authUser, HttpServletResponse response){
 
-        userService.deleteAccount(userId);
+        userService.deleteAccount(authUser.getUserId());
+        authService.logout(authUser.getUserId());
         deleteTokenCookies(response);
 
         return ResponseEntity.ok(SuccessResponse.of(SuccessMessages.USER_WITHDRAW_SUCCESS));
@@ -91,25 +83,17 @@ public class UserController {
     @Operation(summary = "로그아웃", description = "현재 로그인한 사용자를 로그아웃 처리(사용자의 refreshToken을 만료시키고 쿠키를 삭제한다.)")
     @PostMapping("/member/logout")
     public ResponseEntity<SuccessResponse<Void>> logout(
-            @CookieValue(value = "accessToken", required = false) String accessToken,
+            @CurrentUser AuthUser authUser,
+            @CookieValue(value = "refreshToken", required = false) String refreshToken,
             @RequestBody(required = false) UserDto.LogoutRequest request,
             HttpServletResponse response){
 
+        authService.logout(authUser.getAccessToken(), refreshToken);
         deleteTokenCookies(response);
 
         return ResponseEntity.ok(SuccessResponse.of(SuccessMessages.LOGOUT_SUCCESS));
     }
 
-    private void validateToken(String accessToken){
-        if(accessToken == null || accessToken.isEmpty()){
-            throw new IllegalArgumentException(ErrorMessages.AUTH_TOKEN_REQUIRED);
-        }
-
-        if(!jwtUtil.validateToken(accessToken, "ACCESS")){
-            throw new IllegalArgumentException(ErrorMessages.INVALID_TOKEN);
-        }
-    }
-
     private void deleteTokenCookies(HttpServletResponse response) {
         response.addHeader("Set-Cookie", "accessToken=; Path=/; HttpOnly; Max-Age=0; SameSite=Lax");
         response.addHeader("Set-Cookie", "refreshToken=; Path=/; HttpOnly; Max-Age=0; SameSite=Lax");
@@ -2,5 +2,7 @@ package com.trillion.server.users.entity;
 
 public enum Role {
     GUEST,
-    USER
+    USER,
+    // 상담 가져오기 같은 운영용 API만 추가로 쓸 수 있다.
+    ADMIN
 }
@@ -45,7 +45,10 @@ public class UserEntity {
     }
 
     public void upgradeToUser(){
-        this.role = Role.USER;
+        // 관리자가 다시 가입 확인을 거쳐도 권한이 내려가지 않도록 GUEST만 올린다.
+        if (this.role == Role.GUEST) {
+            this.role = Role.USER;
+        }
     }
 
     public void updateRefreshToken(String refreshToken){
@@ -3,12 +3,30 @@ package com.trillion.server.users.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.trillion.server.users.entity.Role;
 import com.trillion.server.users.entity.UserEntity;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByKakaoId(String kakaoId);
     boolean existsByKakaoId(String kakaoId);
+
+    @Query("select u.role from UserEntity u where u.id = :id")
+    Optional<Role> findRoleById(@Param("id") Long id);
+
+    /**
+     * refresh_token이 expected일 때만 next로 바꾼다. 바뀐 행 수(0 또는 1)를 반환한다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.refreshToken = :next where u.id = :id and u.refreshToken = :expected")
+    int compareAndSetRefreshToken(@Param("id") Long id, @Param("expected") String expected, @Param("next") String next);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update UserEntity u set u.refreshToken = :token where u.id = :id")
+    int updateRefreshToken(@Param("id") Long id, @Param("token") String token);
 }
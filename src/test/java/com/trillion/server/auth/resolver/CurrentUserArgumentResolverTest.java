@@ -0,0 +1,83 @@
+package com.trillion.server.auth.resolver;
+
+import com.trillion.server.common.util.JwtUtil;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.entity.Role;
+import com.trillion.server.users.entity.UserEntity;
+import com.trillion.server.users.repository.UserRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "ai.job.poll-interval-ms=3600000")
+class CurrentUserArgumentResolverTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        user = TestUsers.save(userRepository, "resolver");
+    }
+
+    @Test
+    void resolvesUserFromBearerHeader() throws Exception {
+        String token = jwtUtil.generateAccessToken(user.getId(), Role.USER.name());
+
+        mockMvc.perform(get("/api/users/member/profile").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.nickname").value("resolver"));
+    }
+
+    @Test
+    void resolvesUserFromCookie() throws Exception {
+        String token = jwtUtil.generateAccessToken(user.getId(), Role.USER.name());
+
+        mockMvc.perform(get("/api/counsels/stats").cookie(new Cookie("accessToken", token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(0));
+    }
+
+    @Test
+    void rejectsRequestWithoutToken() throws Exception {
+        mockMvc.perform(get("/api/counsels/stats"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void loadsUserEntityOnlyOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        JwtUtil.VerifiedToken token = jwtUtil.verify(jwtUtil.generateAccessToken(user.getId(), Role.USER.name()));
+        AuthUser authUser = new AuthUser(token, Role.USER, id -> {
+            loads.incrementAndGet();
+            return userRepository.findById(id).orElse(null);
+        });
+
+        assertThat(loads).hasValue(0);
+        assertThat(authUser.getUser().getNickname()).isEqualTo("resolver");
+        assertThat(authUser.getUser()).isSameAs(authUser.getUser());
+        assertThat(loads).hasValue(1);
+    }
+}
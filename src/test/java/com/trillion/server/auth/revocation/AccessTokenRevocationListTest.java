@@ -0,0 +1,81 @@
+package com.trillion.server.auth.revocation;
+
+import com.trillion.server.common.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenRevocationListTest {
+
+    private static final long ACCESS_TOKEN_EXPIRATION_MS = 3_600_000;
+
+    @Test
+    void revokedTokenIsRejectedOnEveryNodeSharingTheChannel() {
+        LocalRevocationChannel channel = new LocalRevocationChannel();
+        AccessTokenRevocationList nodeA = revocationList(channel);
+        AccessTokenRevocationList nodeB = revocationList(channel);
+        JwtUtil.VerifiedToken revoked = token(1L, Instant.now());
+        JwtUtil.VerifiedToken other = token(1L, Instant.now());
+
+        nodeA.revoke(revoked);
+
+        assertThat(nodeA.isRevoked(revoked)).isTrue();
+        assertThat(nodeB.isRevoked(revoked)).isTrue();
+        assertThat(nodeB.isRevoked(other)).isFalse();
+    }
+
+    @Test
+    void userEpochRevokesOnlyTokensIssuedBeforeIt() {
+        AccessTokenRevocationList list = revocationList(new LocalRevocationChannel());
+        JwtUtil.VerifiedToken before = token(7L, Instant.now().minusSeconds(60));
+        JwtUtil.VerifiedToken otherUser = token(8L, Instant.now().minusSeconds(60));
+
+        list.revokeUser(7L);
+
+        assertThat(list.isRevoked(before)).isTrue();
+        assertThat(list.isRevoked(otherUser)).isFalse();
+        assertThat(list.isRevoked(token(7L, Instant.now().plusSeconds(2)))).isFalse();
+    }
+
+    @Test
+    void purgeDropsExpiredEntriesAndKeepsLiveOnes() {
+        AccessTokenRevocationList list = revocationList(new LocalRevocationChannel());
+        JwtUtil.VerifiedToken live = token(1L, Instant.now());
+        list.revoke(live);
+        JwtUtil.VerifiedToken alreadyExpired = new JwtUtil.VerifiedToken(1L, "ACCESS", "USER",
+                UUID.randomUUID().toString(), null, Instant.now().minusSeconds(10), Instant.now().minusSeconds(1));
+        list.revoke(alreadyExpired);
+
+        list.purge();
+
+        assertThat(list.isRevoked(live)).isTrue();
+        assertThat(list.isRevoked(alreadyExpired)).isFalse();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(filter.mightContain("revoked-" + (i % 10_000))).isTrue();
+            if (filter.mightContain("live-" + i)) falsePositives++;
+        }
+        assertThat(falsePositives).isLessThan(1_000);
+    }
+
+    private static AccessTokenRevocationList revocationList(RevocationChannel channel) {
+        return new AccessTokenRevocationList(1_000, 0.001, ACCESS_TOKEN_EXPIRATION_MS, channel);
+    }
+
+    private static JwtUtil.VerifiedToken token(Long userId, Instant issuedAt) {
+        return new JwtUtil.VerifiedToken(userId, "ACCESS", "USER", UUID.randomUUID().toString(), null,
+                issuedAt, issuedAt.plusMillis(ACCESS_TOKEN_EXPIRATION_MS));
+    }
+}
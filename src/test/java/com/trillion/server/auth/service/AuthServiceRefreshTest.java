@@ -0,0 +1,85 @@
+package com.trillion.server.auth.service;
+
+import com.trillion.server.auth.dto.AuthDto;
+import com.trillion.server.common.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "ai.job.poll-interval-ms=3600000")
+class AuthServiceRefreshTest {
+
+    private static final int TABS = 8;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void concurrentTabsRefreshingTheSameTokenShareOneSuccessor() throws Exception {
+        String refreshToken = login().refreshToken();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> successors = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(TABS)) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < TABS; i++) {
+                Callable<String> refresh = () -> {
+                    start.await();
+                    return authService.refreshTokens(refreshToken).refreshToken();
+                };
+                futures.add(executor.submit(refresh));
+            }
+            start.countDown();
+            for (Future<String> future : futures) {
+                successors.add(future.get());
+            }
+        }
+
+        assertThat(successors).doesNotContain(refreshToken).containsOnly(successors.get(0));
+        assertThat(authService.refreshTokens(successors.get(0)).refreshToken()).isNotEqualTo(successors.get(0));
+    }
+
+    @Test
+    void logoutEndsOnlyThatLogin() {
+        // 같은 카카오 계정으로 다시 로그인하면 같은 사용자에 새 패밀리가 생긴다.
+        String kakaoId = String.valueOf(System.nanoTime());
+        AuthDto.LoginResponse phone = authService.processKakaoLogin(kakaoUser(kakaoId), null);
+        AuthDto.LoginResponse laptop = authService.processKakaoLogin(kakaoUser(kakaoId), null);
+        assertThat(laptop.userId()).isEqualTo(phone.userId());
+        String laptopToken = authService.refreshTokens(laptop.refreshToken()).refreshToken();
+
+        authService.logout(jwtUtil.verify(phone.accessToken()), phone.refreshToken());
+
+        assertThatThrownBy(() -> authService.refreshTokens(phone.refreshToken()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(authService.refreshTokens(laptopToken).accessToken()).isNotBlank();
+    }
+
+    private AuthDto.LoginResponse login() {
+        return authService.processKakaoLogin(kakaoUser(String.valueOf(System.nanoTime())), null);
+    }
+
+    private static DefaultOAuth2User kakaoUser(String kakaoId) {
+        return new DefaultOAuth2User(List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                Map.of("id", kakaoId), "id");
+    }
+}
@@ -0,0 +1,79 @@
+package com.trillion.server.auth.token;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRefreshTokenStoreTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Test
+    void rotatesCurrentTokenAndHandsTheSuccessorToConcurrentTabsWithinGrace() {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(1_000, 60);
+        RefreshTokenStore.Token first = token("family");
+        store.startFamily(first);
+
+        RefreshTokenStore.Token second = token("family");
+        RefreshTokenStore.Rotation rotated = store.rotate(first, second);
+        assertThat(rotated.outcome()).isEqualTo(RefreshTokenStore.Outcome.ROTATED);
+        assertThat(rotated.token()).isEqualTo(second);
+
+        RefreshTokenStore.Rotation grace = store.rotate(first, token("family"));
+        assertThat(grace.outcome()).isEqualTo(RefreshTokenStore.Outcome.GRACE);
+        assertThat(grace.token()).isEqualTo(second);
+
+        assertThat(store.rotate(second, token("family")).outcome()).isEqualTo(RefreshTokenStore.Outcome.ROTATED);
+    }
+
+    @Test
+    void reuseOutsideGraceRevokesTheWholeFamily() {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(1_000, 0);
+        RefreshTokenStore.Token first = token("family");
+        store.startFamily(first);
+        RefreshTokenStore.Token second = token("family");
+        store.rotate(first, second);
+
+        assertThat(store.rotate(first, token("family")).outcome()).isEqualTo(RefreshTokenStore.Outcome.REUSED);
+        // 정상 사용자가 가진 최신 토큰도 함께 폐기된다.
+        assertThat(store.rotate(second, token("family")).outcome()).isEqualTo(RefreshTokenStore.Outcome.UNKNOWN);
+    }
+
+    @Test
+    void revokesOneFamilyOrEveryFamilyOfTheUser() {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(1_000, 60);
+        RefreshTokenStore.Token phone = token("phone");
+        RefreshTokenStore.Token laptop = token("laptop");
+        RefreshTokenStore.Token tablet = token("tablet");
+        store.startFamily(phone);
+        store.startFamily(laptop);
+        store.startFamily(tablet);
+
+        store.revokeFamily(USER_ID, "phone");
+        assertThat(store.rotate(phone, token("phone")).outcome()).isEqualTo(RefreshTokenStore.Outcome.UNKNOWN);
+        assertThat(store.rotate(laptop, token("laptop")).outcome()).isEqualTo(RefreshTokenStore.Outcome.ROTATED);
+
+        store.revokeUser(USER_ID);
+        assertThat(store.rotate(tablet, token("tablet")).outcome()).isEqualTo(RefreshTokenStore.Outcome.UNKNOWN);
+    }
+
+    @Test
+    void expiredFamiliesAreEvicted() {
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(1_000, 60);
+        RefreshTokenStore.Token expired = new RefreshTokenStore.Token(USER_ID, "family", UUID.randomUUID().toString(),
+                "value", Instant.now().minusSeconds(1));
+        store.startFamily(expired);
+
+        assertThat(store.rotate(expired, token("family")).outcome()).isEqualTo(RefreshTokenStore.Outcome.UNKNOWN);
+    }
+
+    private static RefreshTokenStore.Token token(String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        return new RefreshTokenStore.Token(USER_ID, familyId, tokenId, "token-" + tokenId,
+                Instant.now().plus(7, ChronoUnit.DAYS));
+    }
+}
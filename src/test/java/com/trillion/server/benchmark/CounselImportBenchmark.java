@@ -0,0 +1,82 @@
+package com.trillion.server.benchmark;
+
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.service.CounselImportService;
+import com.trillion.server.counsel.service.CounselService;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청마다 createCounsel을 호출하는 기존 방식과 NDJSON 대량 가져오기(묶음 트랜잭션 + JDBC 배치)의 초당 저장 건수를 비교한다.
+ * ./gradlew benchmark -Dbenchmark.import.rows=100000 처럼 건수를 바꿀 수 있다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"ai.job.poll-interval-ms=3600000", "logging.level.com.trillion=WARN"})
+class CounselImportBenchmark {
+
+    private static final int IMPORT_ROWS = Integer.getInteger("benchmark.import.rows", 50_000);
+    private static final int SINGLE_ROWS = Integer.getInteger("benchmark.import.single-rows", 2_000);
+
+    @Autowired
+    private CounselImportService importService;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void comparesBulkImportWithPerRequestInserts() throws Exception {
+        Long singleUser = TestUsers.save(userRepository, "single").getId();
+        long start = System.nanoTime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            counselService.createCounsel(singleUser, CounselDto.CounselCreateRequest.builder()
+                    .title("이관 " + i)
+                    .date("2024-01-01")
+                    .chat(chat(i))
+                    .build());
+        }
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        byte[] ndjson = ndjson(IMPORT_ROWS);
+        Long bulkUser = TestUsers.save(userRepository, "bulk").getId();
+        start = System.nanoTime();
+        CounselDto.CounselImportResponse response = importService.importCounsels(bulkUser, new ByteArrayInputStream(ndjson), true, 60, 0);
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+        double singleRate = SINGLE_ROWS / singleSeconds;
+        double bulkRate = IMPORT_ROWS / bulkSeconds;
+        System.out.println();
+        System.out.printf("createCounsel    rows=%7d in %6.1fs  %9.1f rows/s%n", SINGLE_ROWS, singleSeconds, singleRate);
+        System.out.printf("bulk import      rows=%7d in %6.1fs  %9.1f rows/s (x%.1f)%n", IMPORT_ROWS, bulkSeconds, bulkRate, bulkRate / singleRate);
+
+        assertThat(response.imported()).isEqualTo(IMPORT_ROWS);
+        assertThat(response.queuedForAnalysis()).isEqualTo(IMPORT_ROWS);
+        assertThat(bulkRate).isGreaterThan(singleRate);
+    }
+
+    private static byte[] ndjson(int rows) {
+        StringBuilder sb = new StringBuilder(rows * 120);
+        for (int i = 0; i < rows; i++) {
+            sb.append("{\"title\":\"이관 ").append(i).append("\",\"date\":\"2024-01-01\",\"chat\":\"")
+                    .append(chat(i)).append("\"}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String chat(int i) {
+        return "상담사: 무엇을 도와드릴까요? 고객: 요금제 변경 문의드립니다 " + i;
+    }
+}
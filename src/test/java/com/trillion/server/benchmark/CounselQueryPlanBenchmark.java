@@ -0,0 +1,197 @@
+package com.trillion.server.benchmark;
+
+import com.trillion.server.counsel.entity.CounselCategory;
+import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.counsel.repository.CounselListQuery;
+import com.trillion.server.counsel.repository.CounselListView;
+import com.trillion.server.counsel.repository.CounselRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상담 100만 건(사용자 100명)을 넣어 두고, 사용자별 목록 조회가 복합 인덱스를 타서 한 페이지 분량만 읽는지 실행 계획으로 확인한다.
+ * 쿼리는 CounselRepository의 목록 조회와 같은 조건/정렬을 SQL로 옮긴 것이다. ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"ai.job.poll-interval-ms=3600000", "logging.level.com.trillion=WARN"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CounselQueryPlanBenchmark {
+
+    private static final int USERS = 100;
+    private static final int COUNSELS = 1_000_000;
+    private static final int ROWS_PER_USER = COUNSELS / USERS;
+    private static final int PAGE_SIZE = 20;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount:\\s*(\\d+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    private long userId;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (kakao_id, nickname, role) " +
+                "SELECT 'plan-' || X, 'plan', 'USER' FROM SYSTEM_RANGE(1, " + USERS + ")");
+        Long firstUserId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE kakao_id LIKE 'plan-%'", Long.class);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO counsel (id, user_id, counsel_date, chat, title, status, created_at, category, summary_preview, version) " +
+                "SELECT NEXT VALUE FOR counsel_seq, ? + MOD(X, " + USERS + "), DATEADD(DAY, -MOD(X * 7, 3650), DATE '2025-01-01'), 'chat', 'title ' || X, " +
+                "CASE WHEN MOD(X / " + USERS + ", 50) = 0 THEN 'FAILED' ELSE 'COMPLETED' END, CURRENT_TIMESTAMP, " +
+                "CASEWHEN(MOD(X / " + USERS + ", 4) = 0, 'ROAMING', 'BILLING'), 'preview', 0 FROM SYSTEM_RANGE(1, " + COUNSELS + ")", firstUserId);
+        jdbcTemplate.execute("ANALYZE");
+        System.out.printf("seeded %d counsels in %.1fs%n", COUNSELS, (System.nanoTime() - start) / 1e9);
+
+        userId = firstUserId + USERS / 2;
+    }
+
+    @Test
+    void idOrderedPagesUseUserIdIndex() {
+        long cursorId = COUNSELS / 2;
+
+        assertBoundedPlan("id first page",
+                "SELECT id, title, counsel_date, created_at, category, status, summary_preview FROM counsel " +
+                        "WHERE user_id = " + userId + " ORDER BY id DESC LIMIT " + PAGE_SIZE,
+                "idx_counsel_user_id_id");
+        assertBoundedPlan("id next page",
+                "SELECT id, title, counsel_date, created_at, category, status, summary_preview FROM counsel " +
+                        "WHERE user_id = " + userId + " AND id < " + cursorId + " ORDER BY id DESC LIMIT " + PAGE_SIZE,
+                "idx_counsel_user_id_id");
+    }
+
+    @Test
+    void dateOrderedPagesUseUserDateIndex() {
+        List<CounselListView> firstPage = counselRepository.findListViews(dateQuery().build());
+        assertThat(firstPage).hasSize(PAGE_SIZE);
+        CounselListView last = firstPage.get(PAGE_SIZE - 1);
+
+        List<CounselListView> nextPage = counselRepository.findListViews(dateQuery()
+                .cursorId(last.id())
+                .cursorDate(last.counselDate())
+                .build());
+        assertThat(nextPage).hasSize(PAGE_SIZE);
+        assertThat(nextPage).isSortedAccordingTo(Comparator.comparing(CounselListView::counselDate)
+                .thenComparing(CounselListView::id).reversed());
+        assertThat(nextPage.get(0).counselDate()).isBeforeOrEqualTo(last.counselDate());
+        assertThat(nextPage).extracting(CounselListView::id).doesNotContainAnyElementsOf(
+                firstPage.stream().map(CounselListView::id).toList());
+
+        LocalDate cursorDate = last.counselDate();
+        assertBoundedPlan("date first page",
+                "SELECT id, title, counsel_date, created_at, category, status, summary_preview FROM counsel " +
+                        "WHERE user_id = " + userId + " ORDER BY counsel_date DESC, id DESC LIMIT " + PAGE_SIZE,
+                "idx_counsel_user_date_id");
+        assertBoundedPlan("date next page",
+                "SELECT id, title, counsel_date, created_at, category, status, summary_preview FROM counsel " +
+                        "WHERE user_id = " + userId + " AND (counsel_date < DATE '" + cursorDate + "' " +
+                        "OR (counsel_date = DATE '" + cursorDate + "' AND id < " + last.id() + ")) " +
+                        "ORDER BY counsel_date DESC, id DESC LIMIT " + PAGE_SIZE,
+                "idx_counsel_user_date_id");
+    }
+
+    @Test
+    void filteredKeysetPagesCoverTheFilteredViewExactlyOnce() {
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM counsel WHERE user_id = ? AND category = 'ROAMING' " +
+                "AND counsel_date BETWEEN DATE '2020-01-01' AND DATE '2023-12-31' ORDER BY counsel_date DESC, id DESC", Long.class, userId);
+        assertThat(expected).isNotEmpty();
+
+        List<Long> paged = new ArrayList<>();
+        CounselListView last = null;
+        List<CounselListView> page;
+        do {
+            page = counselRepository.findListViews(dateQuery()
+                    .category(CounselCategory.ROAMING)
+                    .dateFrom(LocalDate.of(2020, 1, 1))
+                    .dateTo(LocalDate.of(2023, 12, 31))
+                    .cursorId(last == null ? null : last.id())
+                    .cursorDate(last == null ? null : last.counselDate())
+                    .build());
+            page.forEach(view -> paged.add(view.id()));
+            if (!page.isEmpty()) last = page.get(page.size() - 1);
+        } while (page.size() == PAGE_SIZE);
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void deepFilteredPagesReadOnlyAPage() {
+        List<CounselListView> failed = new ArrayList<>();
+        CounselListView last = null;
+        List<CounselListView> page;
+        do {
+            page = counselRepository.findListViews(dateQuery()
+                    .status(CounselStatus.FAILED)
+                    .cursorId(last == null ? null : last.id())
+                    .cursorDate(last == null ? null : last.counselDate())
+                    .build());
+            failed.addAll(page);
+            if (!page.isEmpty()) last = page.get(page.size() - 1);
+        } while (page.size() == PAGE_SIZE);
+        CounselListView deepCursor = failed.get(failed.size() - PAGE_SIZE - 1);
+
+        // CounselRepositoryImpl이 상태 필터 + 상담일 정렬에 만드는 조건/정렬과 같다.
+        String filtered = "SELECT id, title, counsel_date, created_at, category, status, summary_preview FROM counsel " +
+                "WHERE user_id = " + userId + " AND status = 'FAILED'";
+        String order = " ORDER BY user_id DESC, status DESC, counsel_date DESC, id DESC LIMIT " + (PAGE_SIZE + 1);
+        long firstPage = assertBoundedPlan("failed page 1", filtered + order, "idx_counsel_user_status_date_id");
+        long deepPage = assertBoundedPlan("failed deep page", filtered +
+                        " AND counsel_date <= DATE '" + deepCursor.counselDate() + "' " +
+                        "AND (counsel_date < DATE '" + deepCursor.counselDate() + "' OR id < " + deepCursor.id() + ")" + order,
+                "idx_counsel_user_status_date_id");
+
+        // 인덱스가 정렬 순서 그대로라 커서 위치에서 시작해 LIMIT만큼만 읽는다.
+        // 커서와 같은 날짜의 앞선 행은 범위 안에 있지만 건너뛰므로 그만큼만 더 읽을 수 있다.
+        Long sameDateRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counsel WHERE user_id = ? AND status = 'FAILED' " +
+                "AND counsel_date = ?", Long.class, userId, deepCursor.counselDate());
+        assertThat(firstPage).isLessThanOrEqualTo(PAGE_SIZE + 1L);
+        assertThat(deepPage).isLessThanOrEqualTo(PAGE_SIZE + 1L + sameDateRows);
+    }
+
+    private CounselListQuery.CounselListQueryBuilder dateQuery() {
+        return CounselListQuery.builder()
+                .userId(userId)
+                .byCounselDate(true)
+                .limit(PAGE_SIZE);
+    }
+
+    /**
+     * 인덱스를 타고, 읽은 행 수가 해당 사용자의 상담 수를 넘지 않는지(= 테이블 전체를 훑지 않는지) 확인한다.
+     */
+    private long assertBoundedPlan(String name, String sql, String expectedIndex) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN ANALYZE " + sql, String.class));
+        long scanned = scanCount(plan);
+        System.out.printf("%-16s scanCount=%7d%n%s%n", name, scanned, plan);
+
+        assertThat(plan).as(name + " 인덱스").containsIgnoringCase(expectedIndex);
+        assertThat(scanned).as(name + " 읽은 행 수").isLessThanOrEqualTo(ROWS_PER_USER + 1L);
+        return scanned;
+    }
+
+    private static long scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        long max = 0;
+        while (matcher.find()) {
+            max = Math.max(max, Long.parseLong(matcher.group(1)));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,285 @@
+package com.trillion.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.common.util.JwtUtil;
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.service.CounselService;
+import com.trillion.server.support.FakeAiServer;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 앱을 플랫폼 스레드 모드와 가상 스레드 모드(spring.threads.virtual.enabled)로 각각 띄우고,
+ * 실제 엔드포인트 → CounselService → AiServerClient 경로로 AI 서버 대기 호출을 몇 개까지 동시에 붙잡는지와 처리량을 잰다.
+ * POST /summary는 작업 워커가 AsyncConfig의 분석 실행기로, POST /question은 Tomcat 요청 스레드가,
+ * POST /question/stream은 AsyncConfig의 질문 실행기가 AI 서버를 기다린다.
+ * ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+class ExecutionModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int ANALYSIS_EXECUTOR_MAX_POOL_SIZE = 8;
+    private static final int ANALYSIS_EXECUTOR_VIRTUAL_POOL_SIZE = 200;
+    private static final int QUESTION_EXECUTOR_MAX_POOL_SIZE = 32;
+    private static final int CONCURRENT_SUMMARIES = 200;
+    private static final int CONCURRENT_QUESTIONS = 1_000;
+    private static final int CONCURRENT_STREAMS = 400;
+    private static final int COUNSELS = 20;
+    private static final long AI_LATENCY_MS = 1_000;
+    private static final Duration ANALYSIS_TIMEOUT = Duration.ofMinutes(5);
+
+    @RegisterExtension
+    static final FakeAiServer aiServer = FakeAiServer.startForClass();
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends ModeBenchmark {
+
+        @Test
+        void summariesAreBoundedByTheAnalysisExecutor() throws Exception {
+            assertThat(summaries("platform").maxInFlight()).isLessThanOrEqualTo(ANALYSIS_EXECUTOR_MAX_POOL_SIZE);
+        }
+
+        @Test
+        void questionsAreBoundedByTomcatThreads() throws Exception {
+            assertThat(questions("platform").maxInFlight()).isLessThanOrEqualTo(TOMCAT_MAX_THREADS);
+        }
+
+        @Test
+        void streamsAreBoundedByTheQuestionExecutor() throws Exception {
+            assertThat(streams("platform").maxInFlight()).isLessThanOrEqualTo(QUESTION_EXECUTOR_MAX_POOL_SIZE);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends ModeBenchmark {
+
+        @Test
+        void summariesExceedThePlatformAnalysisExecutor() throws Exception {
+            assertThat(summaries("virtual").maxInFlight()).isGreaterThan(ANALYSIS_EXECUTOR_MAX_POOL_SIZE);
+        }
+
+        @Test
+        void questionsExceedTomcatThreads() throws Exception {
+            assertThat(questions("virtual").maxInFlight()).isGreaterThan(TOMCAT_MAX_THREADS);
+        }
+
+        @Test
+        void streamsExceedThePlatformQuestionExecutor() throws Exception {
+            assertThat(streams("virtual").maxInFlight()).isGreaterThan(QUESTION_EXECUTOR_MAX_POOL_SIZE);
+        }
+    }
+
+    /**
+     * 두 모드가 공유하는 설정과 측정 로직. 모드별 프로퍼티가 달라 @Nested 클래스마다 컨텍스트가 따로 뜬다.
+     * 스레드 모드 말고 다른 곳에서 먼저 막히지 않도록 AI 리미터/커넥션 풀 한도를 요청 수보다 크게 잡고,
+     * 워커가 한 번에 분석 실행기를 가득 채울 수 있게 작업 배치 크기를 가상 스레드 풀 크기에 맞춘다.
+     */
+    @ActiveProfiles("test")
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                    "ai.job.poll-interval-ms=100",
+                    "ai.job.batch-size=" + ANALYSIS_EXECUTOR_VIRTUAL_POOL_SIZE,
+                    "logging.level.com.trillion=WARN",
+                    "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                    "ai.executor.max-pool-size=" + ANALYSIS_EXECUTOR_MAX_POOL_SIZE,
+                    "ai.executor.virtual-pool-size=" + ANALYSIS_EXECUTOR_VIRTUAL_POOL_SIZE,
+                    "ai.question-executor.max-pool-size=" + QUESTION_EXECUTOR_MAX_POOL_SIZE,
+                    "ai.limiter.initial-limit=4000",
+                    "ai.limiter.max-limit=4000",
+                    "ai.client.max-total=4000",
+                    "ai.client.max-per-route=4000"
+            }
+    )
+    abstract class ModeBenchmark {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private CounselService counselService;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private JwtUtil jwtUtil;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        private Long userId;
+        private String token;
+        private final List<Long> counselIds = new ArrayList<>();
+
+        @DynamicPropertySource
+        static void aiServerProperties(DynamicPropertyRegistry registry) {
+            aiServer.register(registry);
+        }
+
+        @BeforeEach
+        void seedCounsels() throws InterruptedException {
+            userId = TestUsers.save(userRepository, "mode").getId();
+            token = jwtUtil.generateAccessToken(userId);
+
+            // 질문 대상 상담은 작업 워커가 지연 없이 분석을 끝내 둔다.
+            aiServer.latency(0, 0);
+            for (int i = 0; i < COUNSELS; i++) {
+                counselIds.add(counselService.createCounsel(userId, CounselDto.CounselCreateRequest.builder()
+                        .title("실행 모드 " + i)
+                        .date("2025-01-01")
+                        .chat("상담사: 무엇을 도와드릴까요?\n고객: 요금 문의 " + i)
+                        .build()));
+            }
+            assertThat(awaitAnalyses()).isEqualTo(COUNSELS);
+            aiServer.latency(AI_LATENCY_MS, 0);
+        }
+
+        Result summaries(String mode) throws Exception {
+            // 같은 대화는 분석 결과 캐시로 합쳐지므로 요청마다 대화를 바꾼다.
+            aiServer.resetStats();
+            long start = System.nanoTime();
+            int accepted = submitAll(CONCURRENT_SUMMARIES, i -> {
+                Map<String, String> body = Map.of(
+                        "title", "요약 " + i,
+                        "date", "2025-01-01",
+                        "chat", "상담사: 무엇을 도와드릴까요?\n고객: 로밍 문의 " + mode + " " + i);
+                return send(post("/api/counsels/summary", body)).statusCode() == 200;
+            });
+            assertThat(accepted).as("POST /summary 접수").isEqualTo(CONCURRENT_SUMMARIES);
+            int analyzed = awaitAnalyses() - COUNSELS;
+            return report(mode, "POST /summary", CONCURRENT_SUMMARIES, analyzed, start);
+        }
+
+        Result questions(String mode) throws Exception {
+            // 같은 질문은 답변 캐시에서 바로 나가므로 요청마다 질문을 바꾼다.
+            return run(mode, "POST /question", CONCURRENT_QUESTIONS, i -> {
+                HttpResponse<String> response = send(question(counselIds.get(i % COUNSELS), "/question", "위약금은 얼마인가요? " + i));
+                return response.statusCode() == 200;
+            });
+        }
+
+        Result streams(String mode) throws Exception {
+            return run(mode, "POST /question/stream", CONCURRENT_STREAMS, i -> {
+                HttpResponse<String> response = send(question(counselIds.get(i % COUNSELS), "/question/stream", "로밍 요금제 추천해주세요 " + i));
+                return response.statusCode() == 200 && response.body().contains("ANSWER_COMPLETED");
+            });
+        }
+
+        private Result run(String mode, String endpoint, int requests, IntFunction<Boolean> call) throws Exception {
+            aiServer.resetStats();
+            long start = System.nanoTime();
+            int succeeded = submitAll(requests, call);
+            return report(mode, endpoint, requests, succeeded, start);
+        }
+
+        private int submitAll(int requests, IntFunction<Boolean> call) throws Exception {
+            int succeeded = 0;
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Boolean>> futures = new ArrayList<>(requests);
+                for (int i = 0; i < requests; i++) {
+                    int index = i;
+                    futures.add(clients.submit(() -> call.apply(index)));
+                }
+                for (Future<Boolean> future : futures) {
+                    if (future.get()) succeeded++;
+                }
+            }
+            return succeeded;
+        }
+
+        /**
+         * 이 사용자의 분석 대기 상담이 모두 끝날 때까지 기다리고, 분석이 완료된 상담 수를 반환한다.
+         */
+        private int awaitAnalyses() throws InterruptedException {
+            long deadline = System.nanoTime() + ANALYSIS_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                Integer pending = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM counsel WHERE user_id = ? AND status = 'PENDING'", Integer.class, userId);
+                if (pending == null || pending == 0) break;
+                Thread.sleep(100);
+            }
+            Integer completed = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM counsel WHERE user_id = ? AND status = 'COMPLETED'", Integer.class, userId);
+            return completed == null ? 0 : completed;
+        }
+
+        private Result report(String mode, String endpoint, int requests, int succeeded, long start) {
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            Result result = new Result(mode, endpoint, requests, succeeded, aiServer.maxInFlight(), elapsedMs,
+                    succeeded * 1000.0 / elapsedMs);
+            System.out.printf("[%s %s] requests=%d, succeeded=%d, maxInFlight=%d, elapsed=%dms, throughput=%.1f req/s%n",
+                    result.mode(), result.endpoint(), result.requests(), result.succeeded(), result.maxInFlight(),
+                    result.elapsedMs(), result.throughput());
+            assertThat(result.succeeded()).as(endpoint + " 성공 요청").isPositive();
+            return result;
+        }
+
+        private HttpRequest question(Long counselId, String path, String question) throws IOException {
+            return post("/api/counsels/" + counselId + path, Map.of("question", question));
+        }
+
+        private HttpRequest post(String path, Object body) throws IOException {
+            return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                    .timeout(Duration.ofSeconds(120))
+                    .header("Cookie", "accessToken=" + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        }
+
+        private HttpResponse<String> send(HttpRequest request) {
+            try {
+                return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record Result(String mode, String endpoint, int requests, int succeeded, int maxInFlight,
+                          long elapsedMs, double throughput) {}
+}
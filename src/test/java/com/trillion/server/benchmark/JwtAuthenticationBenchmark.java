@@ -0,0 +1,127 @@
+package com.trillion.server.benchmark;
+
+import com.trillion.server.auth.filter.JwtAuthenticationFilter;
+import com.trillion.server.auth.revocation.AccessTokenRevocationList;
+import com.trillion.server.auth.revocation.LocalRevocationChannel;
+import com.trillion.server.common.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인증된 요청 한 건이 토큰을 검증하는 비용을 JMH로 측정한다.
+ * legacyRequest는 이전 코드처럼 필터(extractUserId, validateToken, isTokenExpired)와 컨트롤러(extractUserId)가
+ * 매번 파서를 새로 만들어 네 번 파싱하고, cachedRequest는 실제 필터와 컨트롤러 호출이 검증된 클레임 캐시를 쓴다.
+ * parseOnce는 캐시 미스 한 번(미리 만든 파서로 서명 검증 1회)의 비용이다. ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-authentication-minimum-256-bits";
+
+    @Test
+    void cachedFilterPathIsCheaperThanRepeatedParsing() throws Exception {
+        // Gradle 테스트 워커 안에서 돌리므로 포크하지 않는다.
+        Options options = new OptionsBuilder()
+                .include(FilterPath.class.getName())
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> scores = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark().substring(FilterPath.class.getName().length() + 1),
+                result -> result.getPrimaryResult().getScore()));
+        scores.forEach((name, score) -> System.out.printf("%-14s %10.0f ns/op%n", name, score));
+
+        assertThat(scores.get("parseOnce")).isLessThan(scores.get("legacyRequest"));
+        assertThat(scores.get("cachedRequest")).isLessThan(scores.get("parseOnce"));
+    }
+
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public static class FilterPath {
+
+        private SecretKey secretKey;
+        private JwtUtil jwtUtil;
+        private JwtAuthenticationFilter filter;
+        private String token;
+
+        @Setup
+        public void setUp() {
+            secretKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+            jwtUtil = new JwtUtil(SECRET, "", "", new String[0], 3_600_000, 604_800_000, 10_000, 300, new SimpleMeterRegistry());
+            filter = new JwtAuthenticationFilter(jwtUtil,
+                    new AccessTokenRevocationList(100_000, 0.001, 3_600_000, new LocalRevocationChannel()));
+            token = jwtUtil.generateAccessToken(42L);
+        }
+
+        @Benchmark
+        public Long legacyRequest() {
+            // 필터
+            Long userId = userIdOf(legacyParse(token));
+            boolean valid = "ACCESS".equals(legacyParse(token).get("type"))
+                    && !legacyParse(token).getExpiration().before(new Date());
+            // 컨트롤러
+            return valid && userId != null ? userIdOf(legacyParse(token)) : null;
+        }
+
+        @Benchmark
+        public Claims parseOnce() {
+            return jwtUtil.extractClaims(token);
+        }
+
+        @Benchmark
+        public Long cachedRequest() throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/counsels");
+            request.setCookies(new Cookie("accessToken", token));
+            try {
+                filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+                return jwtUtil.extractUserId(token);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+
+        private Claims legacyParse(String token) {
+            return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        }
+
+        private static Long userIdOf(Claims claims) {
+            return ((Number) claims.get("userId")).longValue();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.trillion.server.common.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilKeyRotationTest {
+
+    private static final String LEGACY_SECRET = "legacy-secret-key-for-jwt-key-rotation-tests-256-bits";
+    private static final String OLD_HMAC = "old HMAC old-hmac-secret-for-jwt-key-rotation-tests-256-bits";
+
+    private static String ecPublic;
+    private static String ecPrivate;
+
+    @BeforeAll
+    static void generateEcKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        ecPublic = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+        ecPrivate = Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded());
+    }
+
+    @Test
+    void tokensSignedWithTheOldKeyStayValidDuringTheOverlap() {
+        JwtUtil before = jwtUtil(LEGACY_SECRET, "", "old", oldHmac(null));
+        String legacyToken = jwtUtil(LEGACY_SECRET, "", "", new String[0]).generateAccessToken(1L, "USER");
+        String oldToken = before.generateAccessToken(2L, "USER");
+
+        JwtUtil after = jwtUtil(LEGACY_SECRET, "", "new", oldHmac(null), "new EC " + ecPublic + "." + ecPrivate);
+        String newToken = after.generateAccessToken(3L, "USER");
+
+        assertThat(after.verify(legacyToken).userId()).isEqualTo(1L);
+        assertThat(after.verify(oldToken).userId()).isEqualTo(2L);
+        assertThat(after.verify(newToken).userId()).isEqualTo(3L);
+        assertThatThrownBy(() -> before.verify(newToken)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keysPastTheirVerifyUntilAreRejected() {
+        String oldToken = jwtUtil(LEGACY_SECRET, "", "old", oldHmac(null)).generateAccessToken(2L, "USER");
+        String legacyToken = jwtUtil(LEGACY_SECRET, "", "", new String[0]).generateAccessToken(1L, "USER");
+
+        String past = Instant.now().minusSeconds(1).toString();
+        JwtUtil retired = jwtUtil(LEGACY_SECRET, past, "new", oldHmac(past), "new EC " + ecPublic + "." + ecPrivate);
+
+        assertThatThrownBy(() -> retired.verify(oldToken)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> retired.verify(legacyToken)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void verifierOnlyNodeChecksEcTokensWithoutSigningMaterial() {
+        JwtUtil signer = jwtUtil("", "", "ec", "ec EC " + ecPublic + "." + ecPrivate);
+        JwtUtil verifier = jwtUtil("", "", "", "ec EC " + ecPublic);
+
+        String token = signer.generateAccessToken(5L, "USER");
+
+        assertThat(verifier.verify(token).userId()).isEqualTo(5L);
+        assertThatThrownBy(() -> verifier.generateAccessToken(5L, "USER")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void unknownKidIsRejected() {
+        String token = jwtUtil("", "", "other", "other HMAC other-secret-for-jwt-key-rotation-tests-256-bits")
+                .generateAccessToken(1L, "USER");
+
+        assertThatThrownBy(() -> jwtUtil(LEGACY_SECRET, "", "", new String[0]).verify(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String oldHmac(String verifyUntil) {
+        return verifyUntil == null ? OLD_HMAC : OLD_HMAC + " " + verifyUntil;
+    }
+
+    private static JwtUtil jwtUtil(String secret, String secretVerifyUntil, String signingKeyId, String... keys) {
+        return new JwtUtil(secret, secretVerifyUntil, signingKeyId, keys, 3_600_000, 604_800_000, 1_000, 300,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,164 @@
+package com.trillion.server.counsel.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiAnalysisBatcherTest {
+
+    private static final int REQUESTS = 100;
+    // 요청 1건당 고정 비용 + 항목당 비용. AI 서버는 요청을 한 번에 하나씩 처리한다.
+    private static final long REQUEST_OVERHEAD_MS = 20;
+    private static final long PER_ITEM_MS = 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger serverRequests = new AtomicInteger();
+    private HttpServer stubServer;
+    private AiServerClient aiServerClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stubServer.createContext("/", this::handle);
+        stubServer.setExecutor(Executors.newSingleThreadExecutor());
+        stubServer.start();
+
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getMessageConverters().add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+        aiServerClient = new AiServerClient(restTemplate, restTemplate, objectMapper,
+                new AiServerGuard(20, 10, 0.5, 30000, 3, 60000, 30000, 200, 1, 200, 0.9, 2.0, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(aiServerClient, "aiServerUrl", "http://127.0.0.1:" + stubServer.getAddress().getPort());
+        ReflectionTestUtils.setField(aiServerClient, "batchPath", "/batch");
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubServer.stop(0);
+    }
+
+    @Test
+    void fansBatchResultsBackToEachCaller() throws Exception {
+        AiAnalysisBatcher batcher = new AiAnalysisBatcher(aiServerClient, true, 20, 20, 4, 10_000);
+        try {
+            List<String> results = runConcurrently(batcher, 30);
+
+            for (int i = 0; i < results.size(); i++) {
+                JsonNode title = objectMapper.readTree(results.get(i)).path("data").path("summary").path("counsel_title");
+                assertThat(title.asText()).isEqualTo("chat-" + i);
+            }
+            assertThat(serverRequests.get()).isLessThan(30);
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void batchingBeatsOneAtATime() throws Exception {
+        AiAnalysisBatcher single = new AiAnalysisBatcher(aiServerClient, false, 20, 20, 4, 10_000);
+        AiAnalysisBatcher batched = new AiAnalysisBatcher(aiServerClient, true, 20, 20, 4, 10_000);
+        try {
+            long singleStart = System.nanoTime();
+            runConcurrently(single, REQUESTS);
+            long singleMs = (System.nanoTime() - singleStart) / 1_000_000;
+            int singleRequests = serverRequests.getAndSet(0);
+
+            long batchedStart = System.nanoTime();
+            runConcurrently(batched, REQUESTS);
+            long batchedMs = (System.nanoTime() - batchedStart) / 1_000_000;
+            int batchedRequests = serverRequests.get();
+
+            System.out.printf("one-at-a-time: %dms (%d requests, %.1f items/s)%n",
+                    singleMs, singleRequests, REQUESTS * 1000.0 / singleMs);
+            System.out.printf("batched:       %dms (%d requests, %.1f items/s)%n",
+                    batchedMs, batchedRequests, REQUESTS * 1000.0 / batchedMs);
+
+            assertThat(batchedRequests).isLessThan(singleRequests);
+            assertThat(batchedMs * 2).isLessThan(singleMs);
+        } finally {
+            single.shutdown();
+            batched.shutdown();
+        }
+    }
+
+    private List<String> runConcurrently(AiAnalysisBatcher batcher, int count) throws Exception {
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String chat = "chat-" + i;
+                futures.add(callers.submit(() -> batcher.analyze(chat, "2025-01-01")));
+            }
+            List<String> results = new ArrayList<>(count);
+            for (Future<String> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        serverRequests.incrementAndGet();
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        String body;
+
+        if (exchange.getRequestURI().getPath().endsWith("/batch")) {
+            JsonNode items = request.path("items");
+            sleep(REQUEST_OVERHEAD_MS + PER_ITEM_MS * items.size());
+
+            ObjectNode response = objectMapper.createObjectNode();
+            ArrayNode results = response.putArray("results");
+            for (JsonNode item : items) {
+                ObjectNode result = results.addObject();
+                result.put("id", item.path("id").asText());
+                result.set("result", summary(item.path("chat").asText()));
+            }
+            body = objectMapper.writeValueAsString(response);
+        } else {
+            sleep(REQUEST_OVERHEAD_MS + PER_ITEM_MS);
+            body = objectMapper.writeValueAsString(summary(request.path("chat").asText()));
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private ObjectNode summary(String chat) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode summary = root.putObject("data").putObject("summary");
+        summary.put("counsel_title", chat);
+        summary.put("category", "상담");
+        return root;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
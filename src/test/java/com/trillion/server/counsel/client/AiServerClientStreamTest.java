@@ -0,0 +1,74 @@
+package com.trillion.server.counsel.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.support.FakeAiServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiServerClientStreamTest {
+
+    // 20청크를 2초에 걸쳐 보낸다. 취소가 먹히면 훨씬 일찍 끝나야 한다.
+    private static final long STREAM_MS = 2000;
+    private static final long CANCELLED_WITHIN_MS = 1000;
+
+    private FakeAiServer aiServer;
+    private CloseableHttpClient httpClient;
+    private AiServerClient aiServerClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        aiServer = FakeAiServer.start().latency(STREAM_MS, 0).streamChunks(20);
+        httpClient = HttpClients.createDefault();
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        aiServerClient = new AiServerClient(restTemplate, restTemplate, new ObjectMapper(),
+                new AiServerGuard(20, 10, 0.5, 30000, 3, 60000, 30000, 200, 1, 200, 0.9, 2.0, new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(aiServerClient, "aiServerUrl", aiServer.url());
+        ReflectionTestUtils.setField(aiServerClient, "questionStreamPath", "/question/stream");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        aiServer.close();
+    }
+
+    @Test
+    void cancellingFromTheChunkCallbackStopsTheStream() {
+        AiStreamCancellation cancellation = new AiStreamCancellation();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> aiServerClient.askStream("{}", "질문", chunk -> cancellation.cancel(), cancellation))
+                .isInstanceOf(CancellationException.class);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(CANCELLED_WITHIN_MS);
+    }
+
+    @Test
+    void cancellingFromAnotherThreadUnblocksTheRead() {
+        AiStreamCancellation cancellation = new AiStreamCancellation();
+        // SSE 타임아웃/연결 종료 콜백처럼 스트림을 읽는 스레드 밖에서 취소한다.
+        CompletableFuture.runAsync(cancellation::cancel, CompletableFuture.delayedExecutor(STREAM_MS / 8, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> aiServerClient.askStream("{}", "질문", chunk -> {}, cancellation))
+                .isInstanceOf(CancellationException.class);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(CANCELLED_WITHIN_MS);
+    }
+}
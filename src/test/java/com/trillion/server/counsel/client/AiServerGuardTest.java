@@ -0,0 +1,67 @@
+package com.trillion.server.counsel.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiServerGuardTest {
+
+    private static final long SLOW_CALL_MS = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AiServerGuard guard() {
+        return new AiServerGuard(4, 2, 0.5, 30000, 1, SLOW_CALL_MS, SLOW_CALL_MS, 8, 1, 200, 0.9, 2.0, meterRegistry);
+    }
+
+    @Test
+    void longStreamsDoNotOpenTheCircuit() throws Exception {
+        AiServerGuard guard = guard();
+
+        for (int i = 0; i < 4; i++) {
+            guard.callStream(AiServerGuard.CallType.QUESTION, onResponseStarted -> {
+                onResponseStarted.run();
+                // 헤더 이후 본문을 오래 흘려보내도 첫 바이트까지의 시간만 집계된다.
+                Thread.sleep(SLOW_CALL_MS * 3);
+                return "answer";
+            });
+        }
+
+        assertThat(guard.isCircuitOpen()).isFalse();
+        assertThat(meterRegistry.get("ai.limiter.inflight").tag("type", "question").gauge().value()).isZero();
+    }
+
+    @Test
+    void slowTimeToFirstByteStillOpensTheCircuit() throws Exception {
+        AiServerGuard guard = guard();
+
+        for (int i = 0; i < 2; i++) {
+            guard.callStream(AiServerGuard.CallType.QUESTION, onResponseStarted -> {
+                Thread.sleep(SLOW_CALL_MS * 3);
+                onResponseStarted.run();
+                return "answer";
+            });
+        }
+
+        assertThat(guard.isCircuitOpen()).isTrue();
+    }
+
+    @Test
+    void streamAbortedAfterHeadersIsNotCountedAsFailure() {
+        AiServerGuard guard = guard();
+
+        for (int i = 0; i < 4; i++) {
+            try {
+                guard.callStream(AiServerGuard.CallType.QUESTION, onResponseStarted -> {
+                    onResponseStarted.run();
+                    throw new IllegalStateException("client disconnected");
+                });
+            } catch (Exception ignored) {
+                // 클라이언트가 끊은 스트림은 서버 장애가 아니다.
+            }
+        }
+
+        assertThat(guard.isCircuitOpen()).isFalse();
+    }
+}
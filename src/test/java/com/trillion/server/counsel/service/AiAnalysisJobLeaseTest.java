@@ -0,0 +1,52 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.entity.AiAnalysisJobEntity;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실행이 늦어 lease가 만료된 작업을 다른 워커가 다시 가져가면, 원래 워커는 실행을 시작하지 않는지 확인한다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"ai.job.poll-interval-ms=3600000", "ai.job.lease-seconds=0"})
+class AiAnalysisJobLeaseTest {
+
+    @Autowired
+    private AiAnalysisJobService jobService;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void workerThatLostItsLeaseDoesNotStartTheJob() {
+        Long userId = TestUsers.save(userRepository, "lease").getId();
+        Long counselId = counselService.createCounsel(userId, CounselDto.CounselCreateRequest.builder()
+                .title("lease")
+                .date("2025-01-01")
+                .chat("고객: 요금 문의")
+                .build());
+
+        AiAnalysisJobEntity first = claimed(jobService.claim("node-a", 100), counselId);
+        // lease-seconds=0 이므로 바로 만료되어 다른 노드가 다시 가져갈 수 있다.
+        AiAnalysisJobEntity second = claimed(jobService.claim("node-b", 100), counselId);
+
+        assertThat(jobService.start(first.getId(), first.getLeaseToken())).isFalse();
+        assertThat(jobService.start(second.getId(), second.getLeaseToken())).isTrue();
+    }
+
+    private static AiAnalysisJobEntity claimed(List<AiAnalysisJobEntity> jobs, Long counselId) {
+        return jobs.stream().filter(job -> job.getCounselId().equals(counselId)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,56 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.entity.CounselCategory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AiAnalysisResultCacheTest {
+
+    private static final AiAnalysisResultCache.CachedAnalysis RESULT =
+            new AiAnalysisResultCache.CachedAnalysis("{}", CounselCategory.CONSULTATION, "요약");
+
+    private final AiAnalysisResultCache cache = new AiAnalysisResultCache(100, 60, new SimpleMeterRegistry());
+
+    @Test
+    void loaderErrorReleasesWaitingCallersAndIsNotCached() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> owner = CompletableFuture.runAsync(() -> {
+            try {
+                cache.get("고객: 해지", "2026-01-01", () -> {
+                    loading.countDown();
+                    release.await();
+                    throw new StackOverflowError();
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 진행 중인 호출에 합류한 뒤 loader가 Error로 끝난다.
+        CompletableFuture<AiAnalysisResultCache.CachedAnalysis> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return cache.get("고객: 해지", "2026-01-01", () -> RESULT);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+
+        assertThat(cache.getIfCompleted("고객: 해지", "2026-01-01")).isEmpty();
+        assertThat(cache.get("고객: 해지", "2026-01-01", () -> RESULT)).isEqualTo(RESULT);
+    }
+}
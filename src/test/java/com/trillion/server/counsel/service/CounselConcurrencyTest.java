@@ -0,0 +1,190 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.entity.CounselEntity;
+import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.counsel.repository.CounselQuestionRepository;
+import com.trillion.server.counsel.repository.CounselRepository;
+import com.trillion.server.support.FakeAiServer;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 상담에 재시도, 분석 완료/실패, 추가 질문이 동시에 들어와도 늦게 도착한 결과가 새 상태를 덮어쓰지 않는지 확인한다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = "ai.job.poll-interval-ms=3600000")
+class CounselConcurrencyTest {
+
+    private static final int THREADS_PER_ACTION = 8;
+
+    @RegisterExtension
+    static final FakeAiServer aiServer = FakeAiServer.startForClass().latency(10, 10);
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private CounselQuestionRepository counselQuestionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @DynamicPropertySource
+    static void aiServerProperties(DynamicPropertyRegistry registry) {
+        aiServer.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = TestUsers.save(userRepository, "concurrency").getId();
+    }
+
+    @Test
+    void staleCompletionIsDiscardedAfterRetry() throws Exception {
+        Long counselId = counselService.createCounsel(userId, request(null, "first chat " + System.nanoTime()));
+        CounselService.PendingAnalysis stale = counselService.findPendingAnalysis(counselId).orElseThrow();
+
+        counselService.failAiAnalysis(counselId, stale.version());
+        String retriedChat = "retried chat " + System.nanoTime();
+        counselService.retryCounsel(userId, counselId, request(counselId, retriedChat));
+
+        assertThat(counselService.processAiAnalysis(counselId, stale)).isFalse();
+        assertThat(counsel(counselId).getStatus()).isEqualTo(CounselStatus.PENDING);
+
+        CounselService.PendingAnalysis fresh = counselService.findPendingAnalysis(counselId).orElseThrow();
+        assertThat(counselService.processAiAnalysis(counselId, fresh)).isTrue();
+
+        CounselEntity completed = counsel(counselId);
+        assertThat(completed.getStatus()).isEqualTo(CounselStatus.COMPLETED);
+        assertThat(completed.getSummaryPreview()).startsWith(retriedChat.substring(0, 12));
+    }
+
+    @Test
+    void concurrentTransitionsOnSameCounselKeepTheNewestState() throws Exception {
+        Long counselId = counselService.createCounsel(userId, request(null, "original chat " + System.nanoTime()));
+        CounselService.PendingAnalysis stale = counselService.findPendingAnalysis(counselId).orElseThrow();
+        counselService.failAiAnalysis(counselId, stale.version());
+        long failedVersion = counsel(counselId).getVersion();
+
+        // 1) FAILED 상태에서 재시도 + 이전 시도의 늦은 완료/실패가 동시에 도착
+        String retriedChat = "retried chat " + System.nanoTime();
+        List<Callable<String>> firstWave = new ArrayList<>();
+        for (int i = 0; i < THREADS_PER_ACTION; i++) {
+            firstWave.add(() -> {
+                counselService.retryCounsel(userId, counselId, request(counselId, retriedChat));
+                return "retried";
+            });
+            firstWave.add(() -> counselService.processAiAnalysis(counselId, stale) ? "stale-applied" : "discarded");
+            firstWave.add(() -> {
+                counselService.failAiAnalysis(counselId, stale.version());
+                return "failed";
+            });
+        }
+        Map<String, Long> firstOutcomes = runTogether(firstWave);
+
+        CounselEntity retried = counsel(counselId);
+        assertThat(firstOutcomes.getOrDefault("retried", 0L)).isEqualTo(1L);
+        assertThat(firstOutcomes).doesNotContainKey("stale-applied");
+        assertThat(retried.getStatus()).isEqualTo(CounselStatus.PENDING);
+        assertThat(retried.getChat()).isEqualTo(retriedChat);
+        assertThat(retried.getVersion()).isEqualTo(failedVersion + 1);
+
+        // 2) 완료된 상담에 중복 완료, 재시도, 추가 질문이 동시에 도착
+        CounselService.PendingAnalysis fresh = counselService.findPendingAnalysis(counselId).orElseThrow();
+        assertThat(counselService.processAiAnalysis(counselId, fresh)).isTrue();
+        CounselEntity completed = counsel(counselId);
+
+        int questions = THREADS_PER_ACTION * 2;
+        List<Callable<String>> secondWave = new ArrayList<>();
+        for (int i = 0; i < questions; i++) {
+            String question = "question " + i;
+            secondWave.add(() -> {
+                counselService.question(userId, counselId, question);
+                return "asked";
+            });
+        }
+        for (int i = 0; i < THREADS_PER_ACTION; i++) {
+            secondWave.add(() -> counselService.processAiAnalysis(counselId, fresh) ? "duplicate-applied" : "discarded");
+            secondWave.add(() -> {
+                counselService.retryCounsel(userId, counselId, request(counselId, "late retry"));
+                return "retried";
+            });
+        }
+        Map<String, Long> secondOutcomes = runTogether(secondWave);
+
+        CounselEntity after = counsel(counselId);
+        assertThat(secondOutcomes.get("asked")).isEqualTo(questions);
+        assertThat(secondOutcomes).doesNotContainKeys("duplicate-applied", "retried");
+        assertThat(after.getStatus()).isEqualTo(CounselStatus.COMPLETED);
+        assertThat(after.getVersion()).isEqualTo(completed.getVersion());
+        assertThat(after.getSummaryJson()).isEqualTo(completed.getSummaryJson());
+        assertThat(counselQuestionRepository.findAllByCounselIdOrderByIdAsc(counselId)).hasSize(questions);
+    }
+
+    /**
+     * 모든 작업을 동시에 출발시키고 결과(또는 예외 이름)별 개수를 센다.
+     */
+    private Map<String, Long> runTogether(List<Callable<String>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(tasks.size())) {
+            List<Future<String>> futures = new ArrayList<>(tasks.size());
+            for (Callable<String> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return task.call();
+                    } catch (Exception e) {
+                        return e.getClass().getSimpleName();
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<String> outcomes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        }
+    }
+
+    private CounselEntity counsel(Long counselId) {
+        return counselRepository.findById(counselId).orElseThrow();
+    }
+
+    private static CounselDto.CounselCreateRequest request(Long counselId, String chat) {
+        return CounselDto.CounselCreateRequest.builder()
+                .counselId(counselId)
+                .title("동시성 테스트")
+                .date("2025-01-01")
+                .chat(chat)
+                .build();
+    }
+}
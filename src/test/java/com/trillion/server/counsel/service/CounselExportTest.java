@@ -0,0 +1,121 @@
+package com.trillion.server.counsel.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.support.FakeAiServer;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"ai.job.poll-interval-ms=3600000", "counsel.export.page-size=3"})
+class CounselExportTest {
+
+    @RegisterExtension
+    static final FakeAiServer aiServer = FakeAiServer.startForClass();
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+
+    @DynamicPropertySource
+    static void aiServerProperties(DynamicPropertyRegistry registry) {
+        aiServer.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = TestUsers.save(userRepository, "export").getId();
+    }
+
+    @Test
+    void writesEveryCounselAsOneLineAcrossPages() throws Exception {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            created.add(counselService.createCounsel(userId, request("고객: 첫 줄\n고객: 둘째 줄 " + i)));
+        }
+        Long analyzed = created.get(4);
+        CounselService.PendingAnalysis pending = counselService.findPendingAnalysis(analyzed).orElseThrow();
+        counselService.processAiAnalysis(analyzed, pending);
+        counselService.createCounsel(TestUsers.save(userRepository, "export-other").getId(), request("다른 사용자"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.export(userId, out, false);
+
+        List<JsonNode> lines = parseLines(out.toString(StandardCharsets.UTF_8));
+        assertThat(exported).isEqualTo(created.size());
+        assertThat(lines).extracting(line -> line.get("counselId").asLong()).containsExactlyElementsOf(created);
+        assertThat(lines.get(0).get("chat").asText()).contains("\n");
+        assertThat(lines.get(4).get("summary").path("data").path("summary").path("category").isTextual()).isTrue();
+        assertThat(lines.get(0).get("summary").isNull()).isTrue();
+    }
+
+    @Test
+    void gzipOutputDecompressesToTheSameLines() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            counselService.createCounsel(userId, request("요금 문의 " + i));
+        }
+
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        exportService.export(userId, plain, false);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        exportService.export(userId, gzip, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void emptyHistoryWritesNothing() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(exportService.export(userId, out, false)).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    private List<JsonNode> parseLines(String ndjson) throws IOException {
+        assertThat(ndjson).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static CounselDto.CounselCreateRequest request(String chat) {
+        return CounselDto.CounselCreateRequest.builder()
+                .title("내보내기 테스트")
+                .date("2025-01-01")
+                .chat(chat)
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.common.util.JwtUtil;
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.entity.Role;
+import com.trillion.server.users.repository.UserRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"ai.job.poll-interval-ms=3600000", "counsel.import.chunk-size=4",
+        "counsel.import.max-analysis-rate-per-minute=600"})
+class CounselImportTest {
+
+    @Autowired
+    private CounselImportService importService;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = TestUsers.save(userRepository, "import").getId();
+    }
+
+    @Test
+    void importsValidLinesAcrossChunksAndReportsSkippedOnes() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"title\":\"이관 ").append(i).append("\",\"date\":\"2024-05-0").append(i % 9 + 1)
+                    .append("\",\"chat\":\"고객: 요금제 변경 문의 ").append(i).append("\"}\n");
+        }
+        ndjson.append("\n");
+        ndjson.append("{\"title\":\"날짜 오류\",\"date\":\"2024/05/01\",\"chat\":\"고객: 문의\"}\n");
+        ndjson.append("{\"title\":\"내용 없음\",\"date\":\"2024-05-01\"}\n");
+        ndjson.append("not json\n");
+
+        CounselDto.CounselImportResponse response = importService.importCounsels(userId, stream(ndjson.toString()), false, null, 0);
+
+        assertThat(response.imported()).isEqualTo(10);
+        assertThat(response.skipped()).isEqualTo(3);
+        assertThat(response.queuedForAnalysis()).isZero();
+        assertThat(response.errors()).hasSize(3);
+        assertThat(statuses()).containsOnly(CounselStatus.IMPORTED.name()).hasSize(10);
+        assertThat(jobCount()).isZero();
+        assertThat(counselService.searchCounsels(userId, "요금제", null, null, 20).content()).hasSize(10);
+    }
+
+    @Test
+    void queuedAnalysesAreSpreadAtTheRequestedRate() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 9; i++) {
+            ndjson.append("{\"date\":\"2024-06-01\",\"chat\":\"고객: 로밍 문의 ").append(i).append("\"}\n");
+        }
+
+        CounselDto.CounselImportResponse response = importService.importCounsels(userId, stream(ndjson.toString()), true, 120, 0);
+
+        assertThat(response.queuedForAnalysis()).isEqualTo(9);
+        assertThat(statuses()).containsOnly(CounselStatus.PENDING.name()).hasSize(9);
+
+        List<Timestamp> availableAt = jdbcTemplate.queryForList("SELECT j.available_at FROM ai_analysis_job j " +
+                "JOIN counsel c ON c.id = j.counsel_id WHERE c.user_id = ? ORDER BY c.id", Timestamp.class, userId);
+        assertThat(availableAt).hasSize(9);
+        for (int i = 1; i < availableAt.size(); i++) {
+            Duration gap = Duration.between(availableAt.get(i - 1).toLocalDateTime(), availableAt.get(i).toLocalDateTime());
+            assertThat(gap).isEqualTo(Duration.ofMillis(500));
+        }
+
+        // 처리 시간 통계에 예약 대기가 섞이지 않도록 요청 시각은 작업이 시작 가능한 시각과 같다.
+        assertThat(jdbcTemplate.queryForList("SELECT analysis_requested_at FROM counsel WHERE user_id = ? ORDER BY id",
+                Timestamp.class, userId)).containsExactlyElementsOf(availableAt);
+    }
+
+    @Test
+    void ratesAboveTheConfiguredMaximumAreClamped() throws Exception {
+        importService.importCounsels(userId, stream(lines(3, "해지")), true, 1_000_000, 0);
+
+        // 분당 600건 = 100ms 간격. 그대로 썼다면 간격이 0이 되어 전부 한꺼번에 시작한다.
+        assertThat(gaps(availableAt())).containsOnly(Duration.ofMillis(100));
+    }
+
+    @Test
+    void importsRunningTogetherShareOneSchedule() throws Exception {
+        importService.importCounsels(userId, stream(lines(5, "로밍")), true, 120, 0);
+        importService.importCounsels(userId, stream(lines(5, "데이터")), true, 120, 0);
+
+        // 두 번째 가져오기는 첫 번째가 예약한 시각 뒤에 이어 붙는다.
+        assertThat(gaps(availableAt())).hasSize(9).containsOnly(Duration.ofMillis(500));
+    }
+
+    @Test
+    void failedImportReportsWhereToResumeWithoutDuplicatingCommittedChunks() throws Exception {
+        String ndjson = lines(10, "부가서비스");
+        // 10줄을 다 읽은 뒤 본문이 끊긴다. 4줄씩 두 묶음(8번째 줄까지)만 커밋된다.
+        InputStream broken = new SequenceInputStream(stream(ndjson), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        });
+
+        CounselDto.CounselImportResponse failed = importService.importCounsels(userId, broken, false, null, 0);
+
+        assertThat(failed.completed()).isFalse();
+        assertThat(failed.imported()).isEqualTo(8);
+        assertThat(failed.lastLine()).isEqualTo(8);
+        assertThat(failed.failure()).contains("connection reset");
+
+        CounselDto.CounselImportResponse resumed = importService.importCounsels(userId, stream(ndjson), false, null, failed.lastLine());
+
+        assertThat(resumed.completed()).isTrue();
+        assertThat(resumed.imported()).isEqualTo(2);
+        assertThat(resumed.lastLine()).isEqualTo(10);
+        assertThat(statuses()).hasSize(10);
+    }
+
+    @Test
+    void onlyAdminsCanCallTheImportEndpoint() throws Exception {
+        Long adminId = TestUsers.save(userRepository, "import-admin", Role.ADMIN).getId();
+
+        mockMvc.perform(post("/api/counsels/import")
+                        .cookie(new Cookie("accessToken", jwtUtil.generateAccessToken(userId, Role.USER.name())))
+                        .content(lines(1, "요금")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/counsels/import")
+                        .cookie(new Cookie("accessToken", jwtUtil.generateAccessToken(adminId, Role.ADMIN.name())))
+                        .content(lines(1, "요금")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1));
+    }
+
+    private static String lines(int count, String topic) {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ndjson.append("{\"date\":\"2024-06-01\",\"chat\":\"고객: ").append(topic).append(" 문의 ").append(i).append("\"}\n");
+        }
+        return ndjson.toString();
+    }
+
+    private List<Timestamp> availableAt() {
+        return jdbcTemplate.queryForList("SELECT j.available_at FROM ai_analysis_job j " +
+                "JOIN counsel c ON c.id = j.counsel_id WHERE c.user_id = ? ORDER BY c.id", Timestamp.class, userId);
+    }
+
+    private static List<Duration> gaps(List<Timestamp> times) {
+        List<Duration> gaps = new ArrayList<>();
+        for (int i = 1; i < times.size(); i++) {
+            gaps.add(Duration.between(times.get(i - 1).toLocalDateTime(), times.get(i).toLocalDateTime()));
+        }
+        return gaps;
+    }
+
+    private List<String> statuses() {
+        return jdbcTemplate.queryForList("SELECT status FROM counsel WHERE user_id = ?", String.class, userId);
+    }
+
+    private int jobCount() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ai_analysis_job j JOIN counsel c ON c.id = j.counsel_id " +
+                "WHERE c.user_id = ?", Integer.class, userId);
+        return count == null ? 0 : count;
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,136 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.support.FakeAiServer;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "ai.job.poll-interval-ms=3600000")
+class CounselSearchTest {
+
+    @RegisterExtension
+    static final FakeAiServer aiServer = FakeAiServer.startForClass();
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @DynamicPropertySource
+    static void aiServerProperties(DynamicPropertyRegistry registry) {
+        aiServer.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = TestUsers.save(userRepository, "search").getId();
+        otherUserId = TestUsers.save(userRepository, "search-other").getId();
+    }
+
+    @Test
+    void findsKoreanKeywordsRegardlessOfParticlesAndRanksTitleMatchesFirst() {
+        Long titleMatch = counselService.createCounsel(userId, request("위약금 문의", "고객: 약정 해지하면 위약금이 얼마인가요?"));
+        Long chatMatch = counselService.createCounsel(userId, request("요금 문의", "고객: 이번 달 요금에 위약금이 붙었어요."));
+        counselService.createCounsel(userId, request("로밍 문의", "고객: 일본 로밍 요금제 알려주세요."));
+        counselService.createCounsel(otherUserId, request("위약금 문의", "고객: 위약금 면제 되나요?"));
+
+        CounselDto.CounselSearchResponse response = counselService.searchCounsels(userId, "위약금", null, null, 10);
+
+        assertThat(response.content()).extracting(CounselDto.CounselListResponse::counselId)
+                .containsExactly(titleMatch, chatMatch);
+        assertThat(response.hasNext()).isFalse();
+    }
+
+    @Test
+    void createCounselWritesTheCounselRowBeforeItsSearchTerms() {
+        Long counselId = counselService.createCounsel(userId, request("해지 문의", "고객: 약정 해지 방법 알려주세요"));
+
+        Integer counselRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counsel WHERE id = ?", Integer.class, counselId);
+        Integer termRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM counsel_search_term WHERE counsel_id = ?", Integer.class, counselId);
+        assertThat(counselRows).isEqualTo(1);
+        assertThat(termRows).isPositive();
+    }
+
+    @Test
+    void indexesBigramsThatDifferOnlyByAccent() {
+        // ca/cá처럼 악센트만 다른 bigram은 같은 term으로 접혀 한 번만 저장된다.
+        Long counselId = counselService.createCounsel(userId, request("cafe café", "고객: Café 예약"));
+
+        assertThat(ids(counselService.searchCounsels(userId, "café", null, null, 10))).containsExactly(counselId);
+        assertThat(ids(counselService.searchCounsels(userId, "cafe", null, null, 10))).containsExactly(counselId);
+    }
+
+    @Test
+    void indexesTheAiSummaryWhenAnalysisCompletes() throws Exception {
+        Long counselId = counselService.createCounsel(userId, request("상담", "고객: 해외결제 차단 부탁드립니다"));
+        assertThat(counselService.searchCounsels(userId, "요약", null, null, 10).content()).isEmpty();
+
+        CounselService.PendingAnalysis pending = counselService.findPendingAnalysis(counselId).orElseThrow();
+        assertThat(counselService.processAiAnalysis(counselId, pending)).isTrue();
+
+        // FakeAiServer의 요약 본문에만 들어 있는 단어
+        assertThat(counselService.searchCounsels(userId, "요약", null, null, 10).content())
+                .extracting(CounselDto.CounselListResponse::counselId)
+                .containsExactly(counselId);
+    }
+
+    @Test
+    void cursorPagesThroughRankedResultsWithoutGapsOrDuplicates() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(counselService.createCounsel(userId, request("데이터 " + i, "고객: 데이터 쿠폰 ".repeat(i + 1))));
+        }
+
+        List<Long> paged = new ArrayList<>();
+        CounselDto.CounselSearchResponse page = counselService.searchCounsels(userId, "데이터 쿠폰", null, null, 3);
+        paged.addAll(ids(page));
+        while (page.hasNext()) {
+            page = counselService.searchCounsels(userId, "데이터 쿠폰", page.nextCursorScore(), page.nextCursorId(), 3);
+            paged.addAll(ids(page));
+        }
+
+        // 쿠폰이 많이 나온 상담일수록 점수가 높다.
+        assertThat(paged).containsExactlyElementsOf(created.reversed());
+    }
+
+    @Test
+    void rejectsBlankQuery() {
+        assertThatThrownBy(() -> counselService.searchCounsels(userId, "  ", null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Long> ids(CounselDto.CounselSearchResponse response) {
+        return response.content().stream().map(CounselDto.CounselListResponse::counselId).toList();
+    }
+
+    private static CounselDto.CounselCreateRequest request(String title, String chat) {
+        return CounselDto.CounselCreateRequest.builder()
+                .title(title)
+                .date("2025-01-01")
+                .chat(chat)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.trillion.server.counsel.service;
+
+import com.trillion.server.counsel.dto.CounselDto;
+import com.trillion.server.counsel.entity.CounselStatus;
+import com.trillion.server.support.FakeAiServer;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "ai.job.poll-interval-ms=3600000")
+class CounselStatTest {
+
+    @RegisterExtension
+    static final FakeAiServer aiServer = FakeAiServer.startForClass().latency(20, 0);
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselStatService statService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @DynamicPropertySource
+    static void aiServerProperties(DynamicPropertyRegistry registry) {
+        aiServer.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        userId = TestUsers.save(userRepository, "stat").getId();
+    }
+
+    @Test
+    void countersFollowEveryTransitionAndMatchARebuild() throws Exception {
+        Long completed = counselService.createCounsel(userId, request(null, "2025-01-10", "요금 문의 " + System.nanoTime()));
+        Long failed = counselService.createCounsel(userId, request(null, "2025-01-20", "로밍 문의 " + System.nanoTime()));
+        counselService.createCounsel(userId, request(null, "2025-02-03", "해지 문의 " + System.nanoTime()));
+
+        complete(completed);
+        counselService.failAiAnalysis(failed, counselService.findPendingAnalysis(failed).orElseThrow().version());
+
+        CounselDto.CounselStatsResponse afterFailure = statService.getStats(userId);
+        assertThat(afterFailure.total()).isEqualTo(3);
+        assertThat(afterFailure.byStatus()).containsEntry(CounselStatus.COMPLETED, 1L)
+                .containsEntry(CounselStatus.FAILED, 1L)
+                .containsEntry(CounselStatus.PENDING, 1L);
+        assertThat(afterFailure.byCategory().values()).containsExactly(1L);
+        assertThat(afterFailure.monthly()).containsExactly(
+                new CounselDto.MonthlyCount("2025-01", 2), new CounselDto.MonthlyCount("2025-02", 1));
+        assertThat(afterFailure.averageTurnaroundSeconds()).isNotNull().isGreaterThanOrEqualTo(0.0);
+
+        // 재시도하면서 상담 날짜를 다른 달로 옮긴 뒤 완료
+        counselService.retryCounsel(userId, failed, request(failed, "2025-03-01", "로밍 재문의 " + System.nanoTime()));
+        complete(failed);
+
+        CounselDto.CounselStatsResponse stats = statService.getStats(userId);
+        assertThat(stats.byStatus()).containsEntry(CounselStatus.COMPLETED, 2L)
+                .doesNotContainKey(CounselStatus.FAILED)
+                .containsEntry(CounselStatus.PENDING, 1L);
+        assertThat(stats.byCategory().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(2);
+        assertThat(stats.monthly()).containsExactly(
+                new CounselDto.MonthlyCount("2025-01", 1),
+                new CounselDto.MonthlyCount("2025-02", 1),
+                new CounselDto.MonthlyCount("2025-03", 1));
+
+        // 카운터가 망가져도 counsel 테이블에서 같은 값으로 복구된다.
+        jdbcTemplate.update("UPDATE counsel_stat SET item_count = item_count + 7 WHERE user_id = ?", userId);
+        statService.rebuild(userId);
+
+        CounselDto.CounselStatsResponse rebuilt = statService.getStats(userId);
+        assertThat(rebuilt.total()).isEqualTo(stats.total());
+        assertThat(rebuilt.byStatus()).isEqualTo(stats.byStatus());
+        assertThat(rebuilt.byCategory()).isEqualTo(stats.byCategory());
+        assertThat(rebuilt.monthly()).isEqualTo(stats.monthly());
+        assertThat(rebuilt.averageTurnaroundSeconds()).isCloseTo(stats.averageTurnaroundSeconds(), offset(0.01));
+    }
+
+    private void complete(Long counselId) throws Exception {
+        CounselService.PendingAnalysis pending = counselService.findPendingAnalysis(counselId).orElseThrow();
+        assertThat(counselService.processAiAnalysis(counselId, pending)).isTrue();
+    }
+
+    private static CounselDto.CounselCreateRequest request(Long counselId, String date, String chat) {
+        return CounselDto.CounselCreateRequest.builder()
+                .counselId(counselId)
+                .title("통계 테스트")
+                .date(date)
+                .chat(chat)
+                .build();
+    }
+}
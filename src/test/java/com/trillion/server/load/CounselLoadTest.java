@@ -0,0 +1,192 @@
+package com.trillion.server.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trillion.server.common.util.JwtUtil;
+import com.trillion.server.support.FakeAiServer;
+import com.trillion.server.support.LoadDriver;
+import com.trillion.server.support.TestUsers;
+import com.trillion.server.users.entity.UserEntity;
+import com.trillion.server.users.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임베디드 DB(H2)와 FakeAiServer 위에서 상담 API를 목표 요청률로 호출하고 p50/p99/처리량을 출력한다.
+ * ./gradlew loadTest 로 실행하며, -Dload.* 시스템 프로퍼티로 부하와 AI 서버 특성을 바꿀 수 있다.
+ * 예) ./gradlew loadTest -Dload.duration-seconds=30 -Dload.ai.latency-ms=500 -Dload.p99-budget-ms=2000
+ */
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.trillion=WARN"
+)
+class CounselLoadTest {
+
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 10);
+    private static final int USERS = Integer.getInteger("load.users", 20);
+    private static final int SUMMARY_RATE = Integer.getInteger("load.rate.summary", 20);
+    private static final int LIST_RATE = Integer.getInteger("load.rate.list", 100);
+    private static final int DETAIL_RATE = Integer.getInteger("load.rate.detail", 100);
+    private static final int QUESTION_RATE = Integer.getInteger("load.rate.question", 20);
+    private static final int STREAM_RATE = Integer.getInteger("load.rate.stream", 10);
+    private static final long AI_LATENCY_MS = Long.getLong("load.ai.latency-ms", 50);
+    private static final long AI_JITTER_MS = Long.getLong("load.ai.jitter-ms", 50);
+    private static final double AI_ERROR_RATE = Double.parseDouble(System.getProperty("load.ai.error-rate", "0"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private static final long P99_BUDGET_MS = Long.getLong("load.p99-budget-ms", 0);
+    private static final Duration ANALYSIS_TIMEOUT = Duration.ofSeconds(Long.getLong("load.analysis-timeout-seconds", 120));
+
+    @RegisterExtension
+    static final FakeAiServer aiServer = FakeAiServer.startForClass()
+            .latency(AI_LATENCY_MS, AI_JITTER_MS)
+            .errorRate(AI_ERROR_RATE);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void aiServerProperties(DynamicPropertyRegistry registry) {
+        aiServer.register(registry);
+    }
+
+    @Test
+    void drivesCounselEndpointsAtTargetRates() throws Exception {
+        Map<Long, String> tokensByUser = seedUsers();
+        List<String> tokens = new ArrayList<>(tokensByUser.values());
+        List<LoadDriver.Report> reports = new ArrayList<>();
+
+        long analysisStart = System.nanoTime();
+        reports.add(LoadDriver.run("POST /summary", SUMMARY_RATE, DURATION_SECONDS, i -> {
+            Map<String, String> body = Map.of(
+                    "title", "부하 테스트 " + i,
+                    "date", "2025-01-01",
+                    "chat", "상담사: 무엇을 도와드릴까요?\n고객: 요금 문의 " + i);
+            return send(post("/api/counsels/summary", tokens.get(i % tokens.size()), body)).statusCode() == 200;
+        }));
+        int analyzed = awaitAnalyses();
+        double analysisSeconds = (System.nanoTime() - analysisStart) / 1e9;
+
+        List<long[]> counsels = completedCounsels();
+        assertThat(counsels).as("분석이 완료된 상담이 있어야 한다").isNotEmpty();
+
+        reports.add(LoadDriver.run("GET /counsels", LIST_RATE, DURATION_SECONDS, i ->
+                send(get("/api/counsels?size=10", tokens.get(i % tokens.size()))).statusCode() == 200));
+
+        reports.add(LoadDriver.run("GET /{id}", DETAIL_RATE, DURATION_SECONDS, i -> {
+            long[] counsel = counsels.get(i % counsels.size());
+            return send(get("/api/counsels/" + counsel[0], tokensByUser.get(counsel[1]))).statusCode() == 200;
+        }));
+
+        reports.add(LoadDriver.run("POST /question", QUESTION_RATE, DURATION_SECONDS, i -> {
+            long[] counsel = counsels.get(i % counsels.size());
+            return send(post("/api/counsels/" + counsel[0] + "/question", tokensByUser.get(counsel[1]),
+                    Map.of("question", "해지 위약금은 얼마인가요? " + i))).statusCode() == 200;
+        }));
+
+        reports.add(LoadDriver.run("POST /q/stream", STREAM_RATE, DURATION_SECONDS, i -> {
+            long[] counsel = counsels.get(i % counsels.size());
+            HttpResponse<String> response = send(post("/api/counsels/" + counsel[0] + "/question/stream", tokensByUser.get(counsel[1]),
+                    Map.of("question", "로밍 요금제 추천해주세요 " + i)));
+            return response.statusCode() == 200 && response.body().contains("ANSWER_COMPLETED");
+        }));
+
+        System.out.println();
+        System.out.printf("AI server: latency=%d~%dms errorRate=%.2f requests=%d maxInFlight=%d%n",
+                AI_LATENCY_MS, AI_LATENCY_MS + AI_JITTER_MS, AI_ERROR_RATE, aiServer.requestCount(), aiServer.maxInFlight());
+        reports.forEach(System.out::println);
+        System.out.printf("%-16s analyzed=%5d in %.1fs (%.1f analyses/s)%n",
+                "AI analysis", analyzed, analysisSeconds, analyzed / analysisSeconds);
+
+        for (LoadDriver.Report report : reports) {
+            assertThat(report.errorRate()).as(report.name() + " 에러율").isLessThanOrEqualTo(MAX_ERROR_RATE);
+            if (P99_BUDGET_MS > 0) {
+                assertThat(report.p99Ms()).as(report.name() + " p99").isLessThanOrEqualTo(P99_BUDGET_MS);
+            }
+        }
+    }
+
+    private Map<Long, String> seedUsers() {
+        Map<Long, String> tokens = new LinkedHashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            UserEntity user = TestUsers.save(userRepository, "load" + i);
+            tokens.put(user.getId(), jwtUtil.generateAccessToken(user.getId()));
+        }
+        return tokens;
+    }
+
+    private int awaitAnalyses() throws InterruptedException {
+        long deadline = System.nanoTime() + ANALYSIS_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            Integer pending = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM counsel WHERE status = 'PENDING'", Integer.class);
+            if (pending == null || pending == 0) break;
+            Thread.sleep(100);
+        }
+        Integer completed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM counsel WHERE status = 'COMPLETED'", Integer.class);
+        return completed == null ? 0 : completed;
+    }
+
+    private List<long[]> completedCounsels() {
+        return jdbcTemplate.query("SELECT id, user_id FROM counsel WHERE status = 'COMPLETED' ORDER BY id",
+                (rs, rowNum) -> new long[]{rs.getLong("id"), rs.getLong("user_id")});
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Cookie", "accessToken=" + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
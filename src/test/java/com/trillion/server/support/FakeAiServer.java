@@ -0,0 +1,254 @@
+package com.trillion.server.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트용 AI 서버. 실제 AI 서버와 같은 경로와 응답 구조를 흉내 내며, 지연 시간, 에러 비율, 응답 크기를 바꿀 수 있다.
+ * <ul>
+ *     <li>POST /              : 상담 분석 (단건)</li>
+ *     <li>POST /batch         : 상담 분석 (배치)</li>
+ *     <li>POST /question      : 추가 질문</li>
+ *     <li>POST /question/stream : 추가 질문 (text/plain 청크 스트리밍)</li>
+ * </ul>
+ * 스프링 테스트에서는 {@link #startForClass()}로 만든 서버를 static {@code @RegisterExtension} 필드에 두면 클래스가 끝날 때 닫힌다.
+ * 주소는 {@code @DynamicPropertySource}에서 {@link #register(DynamicPropertyRegistry)}로 넘긴다.
+ */
+public class FakeAiServer implements AutoCloseable, AfterAllCallback {
+
+    private static final String[] CATEGORIES = {"상담", "로밍", "요금 및 납부", "서비스"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile long latencyMs;
+    private volatile long latencyJitterMs;
+    private volatile double errorRate;
+    private volatile int summaryChars = 200;
+    private volatile int answerChars = 300;
+    private volatile int streamChunks = 10;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private FakeAiServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static FakeAiServer start() throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        FakeAiServer fake = new FakeAiServer(httpServer);
+        httpServer.createContext("/", fake::handle);
+        httpServer.setExecutor(fake.executor);
+        httpServer.start();
+        return fake;
+    }
+
+    /**
+     * 테스트 클래스 필드 초기화용. 시작하지 못하면 클래스 로딩이 실패한다.
+     */
+    public static FakeAiServer startForClass() {
+        try {
+            return start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 애플리케이션의 AI 서버 주소(ai.server.url)를 이 서버로 바꾼다.
+     */
+    public void register(DynamicPropertyRegistry registry) {
+        registry.add("ai.server.url", this::url);
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 모든 응답에 latencyMs ~ latencyMs + jitterMs 사이의 지연을 준다.
+     */
+    public FakeAiServer latency(long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.latencyJitterMs = jitterMs;
+        return this;
+    }
+
+    /**
+     * 0.0 ~ 1.0 비율의 요청에 500을 응답한다.
+     */
+    public FakeAiServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public FakeAiServer responseSize(int summaryChars, int answerChars) {
+        this.summaryChars = summaryChars;
+        this.answerChars = answerChars;
+        return this;
+    }
+
+    public FakeAiServer streamChunks(int streamChunks) {
+        this.streamChunks = Math.max(1, streamChunks);
+        return this;
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long errorCount() {
+        return errors.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void resetStats() {
+        requests.set(0);
+        errors.set(0);
+        maxInFlight.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        // 바깥 클래스에 등록한 서버는 @Nested 클래스에도 물려지므로, 바깥 클래스가 끝날 때만 닫는다.
+        if (!context.getRequiredTestClass().isAnnotationPresent(Nested.class)) {
+            close();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody().readAllBytes());
+            String path = exchange.getRequestURI().getPath();
+            boolean stream = path.endsWith("/question/stream");
+
+            // 스트리밍은 청크 사이에 지연을 나눠 준다.
+            if (!stream) sleep(nextLatency());
+
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                respond(exchange, 500, "application/json", "{\"error\":\"fake ai server error\"}");
+                return;
+            }
+
+            if (stream) {
+                streamAnswer(exchange);
+            } else if (path.endsWith("/question")) {
+                respond(exchange, 200, "application/json", objectMapper.writeValueAsString(answer()));
+            } else if (path.endsWith("/batch")) {
+                respond(exchange, 200, "application/json", objectMapper.writeValueAsString(batchResult(request)));
+            } else {
+                respond(exchange, 200, "application/json", objectMapper.writeValueAsString(summary(request.path("chat").asText())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private ObjectNode summary(String chat) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode summary = root.putObject("data").putObject("summary");
+        summary.put("counsel_title", "{{" + abbreviate(chat) + "::title}} 상담");
+        summary.put("category", CATEGORIES[Math.floorMod(chat.hashCode(), CATEGORIES.length)]);
+        summary.put("content", filler(summaryChars));
+        return root;
+    }
+
+    private ObjectNode batchResult(JsonNode request) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode results = root.putArray("results");
+        for (JsonNode item : request.path("items")) {
+            ObjectNode result = results.addObject();
+            result.put("id", item.path("id").asText());
+            result.set("result", summary(item.path("chat").asText()));
+        }
+        return root;
+    }
+
+    private String answer() {
+        return filler(answerChars);
+    }
+
+    private void streamAnswer(HttpExchange exchange) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(200, 0);
+
+        String answer = answer();
+        int chunks = streamChunks;
+        int chunkSize = Math.max(1, (answer.length() + chunks - 1) / chunks);
+        long chunkDelay = nextLatency() / chunks;
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < answer.length(); i += chunkSize) {
+                sleep(chunkDelay);
+                out.write(answer.substring(i, Math.min(answer.length(), i + chunkSize)).getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType + "; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private long nextLatency() {
+        long jitter = latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0;
+        return latencyMs + jitter;
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) Thread.sleep(millis);
+    }
+
+    private static String abbreviate(String chat) {
+        return chat.length() > 20 ? chat.substring(0, 20) : chat;
+    }
+
+    private static String filler(int chars) {
+        StringBuilder sb = new StringBuilder(chars);
+        while (sb.length() < chars) {
+            sb.append("상담 내용 요약 ");
+        }
+        return sb.substring(0, chars);
+    }
+}
@@ -0,0 +1,93 @@
+package com.trillion.server.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 목표 요청률(open-loop)로 시나리오를 실행하고 지연 시간 분포를 수집한다.
+ * 지연 시간은 실제 전송 시각이 아니라 예정 시각부터 재므로, 서버가 밀리면 그만큼 대기 시간도 지연에 포함된다.
+ */
+public final class LoadDriver {
+
+    @FunctionalInterface
+    public interface Request {
+        /**
+         * @return 성공이면 true
+         */
+        boolean execute(int index) throws Exception;
+    }
+
+    public record Report(String name, int requests, long errors, double elapsedSeconds,
+                         double p50Ms, double p99Ms, double maxMs) {
+
+        public double throughput() {
+            return (requests - errors) / elapsedSeconds;
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s requests=%5d errors=%4d p50=%8.1fms p99=%8.1fms max=%8.1fms throughput=%8.1f req/s",
+                    name, requests, errors, p50Ms, p99Ms, maxMs, throughput());
+        }
+    }
+
+    private LoadDriver() {
+    }
+
+    public static Report run(String name, int ratePerSecond, int durationSeconds, Request request) throws InterruptedException {
+        int total = ratePerSecond * durationSeconds;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long[] latencies = new long[total];
+        AtomicLong errors = new AtomicLong();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                int index = i;
+                futures.add(clients.submit(() -> {
+                    boolean ok;
+                    try {
+                        ok = request.execute(index);
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    latencies[index] = System.nanoTime() - scheduledAt;
+                    if (!ok) errors.incrementAndGet();
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception ignored) {
+                    // 개별 실패는 errors로 집계된다.
+                }
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Report(name, total, errors.get(), elapsedSeconds,
+                percentileMs(latencies, 0.50), percentileMs(latencies, 0.99), latencies[total - 1] / 1e6);
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
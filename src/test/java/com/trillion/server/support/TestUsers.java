@@ -0,0 +1,26 @@
+package com.trillion.server.support;
+
+import com.trillion.server.users.entity.Role;
+import com.trillion.server.users.entity.UserEntity;
+import com.trillion.server.users.repository.UserRepository;
+
+/**
+ * 테스트용 사용자 픽스처. 컨텍스트를 공유하는 테스트끼리 kakaoId가 겹치지 않도록 매번 고유한 값을 붙인다.
+ */
+public final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    public static UserEntity save(UserRepository userRepository, String nickname) {
+        return save(userRepository, nickname, Role.USER);
+    }
+
+    public static UserEntity save(UserRepository userRepository, String nickname, Role role) {
+        return userRepository.save(UserEntity.builder()
+                .kakaoId(nickname + "-" + System.nanoTime())
+                .nickname(nickname)
+                .role(role)
+                .build());
+    }
+}